@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request of the plain fat-jar image against the AOT + AppCDS image.
+#
+# Each run starts a fresh container and polls GET /api/posts/public until it returns 200;
+# the time from `docker run` to that response is reported, with the min and median per image.
+#
+# Usage: MONGODB_URI=mongodb://host.docker.internal:27017/chronoblog scripts/startup-time.sh [runs]
+#   JWT_SECRET, JWT_EXPIRATION_MS  passed to the containers (defaults are for local testing only)
+#   DOCKER_RUN_ARGS                extra arguments for docker run, e.g. "--cpus=1 --memory=512m"
+#   SKIP_BUILD=1                   reuse existing chronoblog:baseline and chronoblog:aot-cds images
+#
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+TIMEOUT_S=${TIMEOUT_S:-120}
+: "${MONGODB_URI:?Set MONGODB_URI to a MongoDB reachable from the containers}"
+JWT_SECRET=${JWT_SECRET:-c3RhcnR1cC10aW1lLWhhcm5lc3Mtb25seS1ub3QtYS1yZWFsLXNlY3JldA==}
+JWT_EXPIRATION_MS=${JWT_EXPIRATION_MS:-3600000}
+
+cd "$(dirname "$0")/.."
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+    docker build --target baseline -t chronoblog:baseline .
+    docker build -t chronoblog:aot-cds .
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local image=$1 container start elapsed
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    container=$(docker run -d --rm -p "$PORT:8080" ${DOCKER_RUN_ARGS:-} \
+        -e SPRING_DATA_MONGODB_URI="$MONGODB_URI" \
+        -e JWT_SECRET="$JWT_SECRET" \
+        -e JWT_EXPIRATION_MS="$JWT_EXPIRATION_MS" \
+        "$image")
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/posts/public"; do
+        if (( $(now_ms) - start > TIMEOUT_S * 1000 )); then
+            echo "timed out waiting for $image; last log lines:" >&2
+            docker logs --tail 20 "$container" >&2
+            docker stop "$container" > /dev/null
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - start ))
+    docker stop "$container" > /dev/null
+    echo "$elapsed"
+}
+
+summarize() {
+    local image=$1 samples=()
+    for ((i = 1; i <= RUNS; i++)); do
+        samples+=("$(measure "$image")")
+    done
+    sorted=($(printf '%s\n' "${samples[@]}" | sort -n))
+    printf '%-20s runs=%d min=%5d ms  median=%5d ms  all=[%s]\n' \
+        "$image" "$RUNS" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${samples[*]}"
+}
+
+summarize chronoblog:baseline
+summarize chronoblog:aot-cds
@@ -0,0 +1,146 @@
+package com.example.chronoblog.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.chronoblog.cache.EntityCache;
+import com.example.chronoblog.cache.InMemoryChangeEventBus;
+import com.example.chronoblog.config.SecurityConfig;
+import com.example.chronoblog.controller.AuthController;
+import com.example.chronoblog.dto.LoginRequest;
+import com.example.chronoblog.dto.RegisterRequest;
+import com.example.chronoblog.model.User;
+import com.example.chronoblog.repository.InMemoryUserRepository;
+import com.example.chronoblog.security.JwtUtil;
+import com.example.chronoblog.security.UserDetailsServiceImpl;
+import com.example.chronoblog.service.AvailabilityService;
+
+/**
+ * Throughput of the login ("login") and registration ("register") endpoints with the
+ * production BCrypt settings, against an in-memory user store, so the numbers are the
+ * CPU cost of the auth path alone. Teardown prints the BCrypt operations and user lookups
+ * per call; AuthThroughputBenchmarkTest pins the same cost model.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="AuthThroughput -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthThroughputBenchmark {
+
+    private static final int USERS = 1_000;
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final AtomicInteger bcryptOperations = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+
+    private AuthController authController;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder bcrypt = new SecurityConfig(null, null).passwordEncoder();
+        PasswordEncoder passwordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                bcryptOperations.incrementAndGet();
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                bcryptOperations.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+
+        // Size 0 disables the user cache so every login pays for its lookup.
+        EntityCache uncached = new EntityCache(new InMemoryChangeEventBus(), 0, 0, 0);
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        inject(userDetailsService, "userRepository", userRepository);
+        inject(userDetailsService, "entityCache", uncached);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        JwtUtil jwtUtil = new JwtUtil();
+        inject(jwtUtil, "secret", Base64.getEncoder().encodeToString(new byte[32]));
+        inject(jwtUtil, "jwtExpirationMs", 3_600_000L);
+
+        authController = new AuthController();
+        inject(authController, "authenticationManager", new ProviderManager(provider));
+        inject(authController, "userRepository", userRepository);
+        inject(authController, "passwordEncoder", passwordEncoder);
+        inject(authController, "jwtUtil", jwtUtil);
+        inject(authController, "availabilityService", Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { AvailabilityService.class }, (proxy, method, args) -> null));
+
+        // One hash shared by every seeded user; BCrypt verifies it at full cost regardless.
+        String hash = bcrypt.encode("secret123");
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("reader" + i, "reader" + i + "@example.com", hash);
+            user.setRoles(Set.of("ROLE_BLOGGER"));
+            userRepository.save(user);
+        }
+        // The provider lazily hashes a dummy password for timing-attack protection on first use.
+        login();
+        bcryptOperations.set(0);
+        userRepository.lookups.set(0);
+        calls.set(0);
+    }
+
+    @TearDown
+    public void report() {
+        long n = Math.max(1, calls.get());
+        System.out.printf("%n%,d calls: %.2f BCrypt ops and %.2f user lookups per call%n",
+                calls.get(), bcryptOperations.get() / (double) n, userRepository.lookups.get() / (double) n);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> login() {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("reader" + (calls.getAndIncrement() % USERS) + "@example.com");
+        login.setPassword("secret123");
+        return authController.authenticateUser(login);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> register() {
+        String username = "writer" + calls.getAndIncrement();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("secret123");
+        return authController.registerUser(request);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.chronoblog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.chronoblog.util.BloomFilter;
+
+/**
+ * Cost of a username/email availability probe against a filter filled to capacity, for
+ * a taken name ("mightContainTaken") and a free one ("mightContainFree"), and of adding a
+ * registration ("put").
+ *
+ * Setup prints the observed and estimated false-positive rate and the filter's memory, at
+ * the production target rate of 1%.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="BloomFilter -t 4"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BloomFilterBenchmark {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Param({"100000", "1000000", "10000000"})
+    private int users;
+
+    private BloomFilter filter;
+    private BloomFilter scratch;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        filter = new BloomFilter(users, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < users; i++) {
+            filter.put("writer" + i);
+        }
+        scratch = new BloomFilter(users, FALSE_POSITIVE_RATE);
+
+        int probes = Math.min(users, 1_000_000);
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("reader" + i)) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("users=%,d observed=%.4f estimated=%.4f bits=%,d (%.1f MB) hashes=%d%n",
+                users, (double) falsePositives / probes, filter.expectedFalsePositiveRate(),
+                filter.getBitCount(), filter.getBitCount() / 8 / 1e6, filter.getHashCount());
+    }
+
+    @Benchmark
+    public boolean mightContainTaken() {
+        return filter.mightContain("writer" + (next++ % users));
+    }
+
+    @Benchmark
+    public boolean mightContainFree() {
+        return filter.mightContain("reader" + (next++ % users));
+    }
+
+    @Benchmark
+    public void put() {
+        scratch.put("writer" + (next++ % users));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.chronoblog.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.chronoblog.util.ContentCompression;
+
+/**
+ * Cost of reading post content back out of a stored BSON document, plain ("readPlain") and
+ * deflate-compressed ("readCompressed"). The stored size of both documents is printed once
+ * per fork.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ContentCompression -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ContentCompressionBenchmark {
+
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    @Param({"10", "40", "160"})
+    private int paragraphs;
+
+    private RawBsonDocument plain;
+    private RawBsonDocument compressed;
+
+    @Setup
+    public void setUp() {
+        String html = samplePost(paragraphs, new Random(42));
+        plain = encode(html);
+        compressed = encode(ContentCompression.compress(html));
+        int plainBytes = plain.getByteBuffer().remaining();
+        int compressedBytes = compressed.getByteBuffer().remaining();
+        System.out.printf("paragraphs=%d stored plain=%d B compressed=%d B (%.0f%%)%n",
+                paragraphs, plainBytes, compressedBytes, 100.0 * compressedBytes / plainBytes);
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return ContentCompression.decompress(plain.decode(CODEC).get("content"));
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return ContentCompression.decompress(compressed.decode(CODEC).get("content"));
+    }
+
+    private static RawBsonDocument encode(Object content) {
+        return new RawBsonDocument(new Document("title", "Benchmark").append("content", content), CODEC);
+    }
+
+    // Same shape as a typical long post: paragraphs of prose with some markup and images
+    private static String samplePost(int paragraphs, Random random) {
+        String[] words = {"time", "capsule", "letter", "future", "memory", "open", "write", "remember", "year",
+                "friend", "morning", "city", "river", "promise", "photo", "summer", "quiet", "road"};
+        StringBuilder html = new StringBuilder("<h2>A note to the future</h2>");
+        for (int p = 0; p < paragraphs; p++) {
+            html.append("<p>");
+            for (int w = 0; w < 60 + random.nextInt(60); w++) {
+                String word = words[random.nextInt(words.length)];
+                html.append(w % 17 == 5 ? "<strong>" + word + "</strong>" : word).append(' ');
+            }
+            html.append("</p>");
+            if (p % 8 == 3) {
+                html.append("<p><img src=\"https://images.example.com/").append(random.nextInt(100_000)).append(".jpg\"></p>");
+            }
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.chronoblog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.chronoblog.util.HyperLogLog;
+
+/**
+ * Cost of the unique-viewer sketch operations on the view path ("offer") and when node
+ * sketches are read back and combined ("mergeSerialized", "estimate"), for a sketch of
+ * the given number of distinct viewers.
+ *
+ * Setup also prints the estimation error up to one million viewers and the projected
+ * sketch storage for one million posts with a long-tailed audience.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="HyperLogLog -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HyperLogLogBenchmark {
+
+    // Share of posts and their distinct viewers: most posts have a small audience.
+    private static final int[][] AUDIENCE = { { 700_000, 10 }, { 200_000, 100 }, { 90_000, 1_000 }, { 10_000, 100_000 } };
+
+    @Param({"10", "1000", "100000"})
+    private int viewers;
+
+    private HyperLogLog sketch;
+    private byte[] serialized;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        sketch = sketchOf(viewers);
+        serialized = sketch.toBytes();
+        System.out.printf("viewers=%,d sketch=%,d bytes%n", viewers, serialized.length);
+        printAccuracy();
+        printFootprint();
+    }
+
+    @Benchmark
+    public boolean offer() {
+        return sketch.offer("viewer-" + (next++ % viewers));
+    }
+
+    @Benchmark
+    public long estimate() {
+        return sketch.estimate();
+    }
+
+    @Benchmark
+    public long mergeSerialized() {
+        HyperLogLog merged = HyperLogLog.fromBytes(serialized);
+        merged.merge(HyperLogLog.fromBytes(serialized));
+        return merged.estimate();
+    }
+
+    private static void printAccuracy() {
+        for (int cardinality : new int[] { 1_000, 10_000, 100_000, 1_000_000 }) {
+            HyperLogLog sketch = sketchOf(cardinality);
+            double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            System.out.printf("cardinality=%,d estimate=%,d error=%.2f%%%n", cardinality, sketch.estimate(), error * 100);
+        }
+    }
+
+    private static void printFootprint() {
+        long totalBytes = 0;
+        for (int[] bucket : AUDIENCE) {
+            int bytes = sketchOf(bucket[1]).toBytes().length;
+            System.out.printf("%,d posts x %,d viewers: %,d bytes each%n", bucket[0], bucket[1], bytes);
+            totalBytes += (long) bytes * bucket[0];
+        }
+        System.out.printf("Projected sketch storage for 1,000,000 posts: %.1f MB%n", totalBytes / 1e6);
+    }
+
+    private static HyperLogLog sketchOf(int viewers) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < viewers; i++) {
+            sketch.offer("viewer-" + i);
+        }
+        return sketch;
+    }
+}
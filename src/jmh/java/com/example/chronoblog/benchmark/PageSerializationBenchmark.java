@@ -0,0 +1,142 @@
+package com.example.chronoblog.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.chronoblog.config.JacksonConfig;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Writes a public feed page of BlogPosts to a discarding stream, as the message converter
+ * writes it to the response body, with bean serialization of PageImpl ("beanSerialization")
+ * and with the serializers from JacksonConfig ("feedSerializers").
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="PageSerialization -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    // Roughly a feed post; the full content is what the public list endpoint returns
+    @Param({"2000"})
+    private int contentLength;
+
+    private Page<BlogPost> page;
+    private ObjectWriter beanWriter;
+    private ObjectWriter feedWriter;
+    private CountingOutputStream out;
+
+    @Setup
+    public void setUp() {
+        List<BlogPost> posts = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            posts.add(post(i));
+        }
+        page = new PageImpl<>(posts, PageRequest.of(0, pageSize), 10_000);
+
+        // Configured as Boot configures the application ObjectMapper, with and without the module
+        beanWriter = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+        feedWriter = new ObjectMapper().registerModule(new JavaTimeModule())
+                .registerModule(new JacksonConfig().feedSerializersModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writer();
+        out = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public void beanSerialization(Blackhole blackhole) throws IOException {
+        beanWriter.writeValue(out, page);
+        blackhole.consume(out.reset());
+    }
+
+    @Benchmark
+    public void feedSerializers(Blackhole blackhole) throws IOException {
+        feedWriter.writeValue(out, page);
+        blackhole.consume(out.reset());
+    }
+
+    private BlogPost post(int i) {
+        BlogPost post = new BlogPost();
+        post.setId(String.format("%024x", i));
+        post.setTitle("Notes on post number " + i);
+        StringBuilder content = new StringBuilder("<p>");
+        while (content.length() < contentLength) {
+            content.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        }
+        post.setContent(content.append("</p>").toString());
+        post.setExcerpt(content.substring(3, 160));
+        post.setWordCount(contentLength / 6);
+        post.setReadingTimeMinutes(2);
+        post.setRenderVersion(1);
+        post.setTags(new LinkedHashSet<>(List.of("java", "spring")));
+        post.setAuthorId("author" + i % 7);
+        post.setAuthor("writer" + i % 7);
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setPublishAt(Instant.parse("2025-06-01T12:00:00Z").plusSeconds(i * 3600L));
+        post.setLikesCount(i % 13);
+        post.setCommentsCount(i % 5);
+        post.setUniqueViewers(i * 11L);
+        post.setLikedBy(new LinkedHashSet<>(List.of("u1", "u2", "u3")));
+        post.setRevision(i % 4);
+        post.setCreatedAt(post.getPublishAt());
+        post.setUpdatedAt(post.getPublishAt().plusSeconds(60));
+        return post;
+    }
+
+    // Discards the bytes but keeps the count, so the whole document must be produced
+    static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        long reset() {
+            long written = count;
+            count = 0;
+            return written;
+        }
+    }
+}
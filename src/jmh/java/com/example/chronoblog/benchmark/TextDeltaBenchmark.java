@@ -0,0 +1,78 @@
+package com.example.chronoblog.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.chronoblog.model.DeltaOp;
+import com.example.chronoblog.util.TextDelta;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of an autosave of a few words into drafts of the given length: checking the
+ * client's delta against the draft head's length as autosave does ("length"), applying
+ * it when a revision is rebuilt ("apply") and computing one ("diff").
+ *
+ * Setup prints the request body size of the delta against a full-content PUT.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TextDelta -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextDeltaBenchmark {
+
+    @Param({"30", "300", "3000"})
+    private int paragraphs;
+
+    private String before;
+    private String after;
+    private List<DeltaOp> delta;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        StringBuilder html = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            html.append("<p>Paragraph ").append(p).append(" of a long draft about time capsules and letters.</p>");
+        }
+        before = html.toString();
+        after = new StringBuilder(before).insert(before.length() / 2, " and a few new words").toString();
+        delta = TextDelta.diff(before, after);
+
+        ObjectMapper mapper = new ObjectMapper();
+        int deltaBytes = mapper.writeValueAsBytes(delta).length;
+        int fullBytes = mapper.writeValueAsBytes(after).length;
+        System.out.printf("paragraphs=%d delta=%d B full=%d B (%.1f%%)%n",
+                paragraphs, deltaBytes, fullBytes, 100.0 * deltaBytes / fullBytes);
+    }
+
+    @Benchmark
+    public int length() {
+        return TextDelta.length(before.length(), delta);
+    }
+
+    @Benchmark
+    public String apply() {
+        return TextDelta.apply(before, delta);
+    }
+
+    @Benchmark
+    public List<DeltaOp> diff() {
+        return TextDelta.diff(before, after);
+    }
+}
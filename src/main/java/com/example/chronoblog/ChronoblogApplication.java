@@ -1,15 +1,22 @@
 package com.example.chronoblog;
 
+import java.util.Map;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+@EnableAsync
 public class ChronoblogApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ChronoblogApplication.class, args);
+		SpringApplication app = new SpringApplication(ChronoblogApplication.class);
+		// Expose /actuator/health/readiness everywhere, not only on Kubernetes; it stays down until warm-up ends.
+		app.setDefaultProperties(Map.of("management.endpoint.health.probes.enabled", "true"));
+		app.run(args);
 	}
 
 }
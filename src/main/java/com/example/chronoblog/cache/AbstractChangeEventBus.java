@@ -0,0 +1,38 @@
+package com.example.chronoblog.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatches events synchronously to subscribers on the calling thread.
+ */
+public abstract class AbstractChangeEventBus implements ChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractChangeEventBus.class);
+
+    private final List<Consumer<ChangeEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ChangeEvent event) {
+        dispatch(event);
+    }
+
+    @Override
+    public void subscribe(Consumer<ChangeEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    protected void dispatch(ChangeEvent event) {
+        for (Consumer<ChangeEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Change event subscriber failed for {}", event, e);
+            }
+        }
+    }
+}
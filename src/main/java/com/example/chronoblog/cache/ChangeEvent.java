@@ -0,0 +1,25 @@
+package com.example.chronoblog.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A write to one of the cached collections, as seen by any node.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public enum Operation {
+        UPSERT,         // Insert, update or replace of a single document
+        DELETE,         // Removal of a single document
+        INVALIDATE_ALL  // The stream lost track of changes; drop everything cached for the collection
+    }
+
+    private String collection;
+    private String documentId; // null for INVALIDATE_ALL
+    private Operation operation;
+    private String postId;     // For comments, the post they belong to when known
+}
@@ -0,0 +1,16 @@
+package com.example.chronoblog.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers change events for blogPosts, users and comments to every subscriber on a node.
+ * Implementations differ in where events come from: writes made on this node only, or
+ * writes made by any node in the cluster.
+ */
+public interface ChangeEventBus {
+
+    // Announces a write made by this node
+    void publish(ChangeEvent event);
+
+    void subscribe(Consumer<ChangeEvent> subscriber);
+}
@@ -0,0 +1,52 @@
+package com.example.chronoblog.cache;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes this node's saves and deletes on the change event bus as they happen.
+ * Writes issued as raw MongoTemplate updates are not seen here; other nodes and,
+ * with the Mongo bus, this node too pick those up from the change stream.
+ */
+@Component
+public class ChangeEventPublishingListener extends AbstractMongoEventListener<Object> {
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        Document document = event.getDocument();
+        if (document == null) {
+            return;
+        }
+        changeEventBus.publish(new ChangeEvent(event.getCollectionName(), idOf(document.get("_id")),
+                ChangeEvent.Operation.UPSERT, idOf(document.get("postId"))));
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        // The source is the delete query; single-document deletes are by _id.
+        Object id = event.getSource().get("_id");
+        Object postId = event.getSource().get("postId");
+        if (id != null && !(id instanceof Document)) {
+            changeEventBus.publish(new ChangeEvent(event.getCollectionName(), idOf(id),
+                    ChangeEvent.Operation.DELETE, idOf(postId)));
+        } else if (id == null && postId != null) {
+            changeEventBus.publish(new ChangeEvent(event.getCollectionName(), null,
+                    ChangeEvent.Operation.DELETE, idOf(postId)));
+        } else {
+            // A multi-document delete such as deleteByAuthorId; drop the collection's entries.
+            changeEventBus.publish(new ChangeEvent(event.getCollectionName(), null,
+                    ChangeEvent.Operation.INVALIDATE_ALL, null));
+        }
+    }
+
+    private String idOf(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.chronoblog.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.User;
+
+/**
+ * Node-local read caches for posts, users and comment lists. Entries are evicted
+ * individually as change events arrive from the {@link ChangeEventBus}, so an edit on
+ * any node only drops the entries it affects.
+ *
+ * Cached objects are shared between requests and must be treated as read-only.
+ */
+@Component
+public class EntityCache {
+
+    private final LruCache<String, BlogPost> posts;
+    private final LruCache<String, User> usersByEmail;
+    private final LruCache<String, List<CommentResponse>> commentsByPost;
+
+    // Users are looked up by email but change events carry only the id. An entry is dropped
+    // when its user leaves usersByEmail, so this stays as small as that cache.
+    private final Map<String, String> emailsByUserId = new ConcurrentHashMap<>();
+
+    public EntityCache(ChangeEventBus changeEventBus,
+                       @Value("${chronoblog.cache.posts.max-size:10000}") int maxPosts,
+                       @Value("${chronoblog.cache.users.max-size:10000}") int maxUsers,
+                       @Value("${chronoblog.cache.comments.max-size:2000}") int maxCommentLists) {
+        this.posts = new LruCache<>(maxPosts);
+        this.usersByEmail = new LruCache<>(maxUsers, (email, user) -> emailsByUserId.remove(user.getId(), email));
+        this.commentsByPost = new LruCache<>(maxCommentLists);
+        changeEventBus.subscribe(this::onChange);
+    }
+
+    public Optional<BlogPost> getPost(String id, Supplier<Optional<BlogPost>> loader) {
+        return Optional.ofNullable(posts.get(id, () -> loader.get().orElse(null)));
+    }
+
+    public Optional<User> getUserByEmail(String email, Supplier<Optional<User>> loader) {
+        return Optional.ofNullable(usersByEmail.get(email, () -> {
+            User user = loader.get().orElse(null);
+            if (user != null) {
+                emailsByUserId.put(user.getId(), user.getEmail());
+            }
+            return user;
+        }));
+    }
+
+    public List<CommentResponse> getComments(String postId, Supplier<List<CommentResponse>> loader) {
+        return commentsByPost.get(postId, () -> List.copyOf(loader.get()));
+    }
+
+    void onChange(ChangeEvent event) {
+        if (event.getOperation() == ChangeEvent.Operation.INVALIDATE_ALL) {
+            invalidateAll(event.getCollection());
+            return;
+        }
+        switch (event.getCollection()) {
+            case "blogPosts" -> {
+                posts.evict(event.getDocumentId());
+                // Adding or deleting a comment also updates the post's commentsCount,
+                // which makes this the reliable signal for deletes that carry no postId.
+                commentsByPost.evict(event.getDocumentId());
+            }
+            case "users" -> {
+                String email = emailsByUserId.remove(event.getDocumentId());
+                if (email != null) {
+                    usersByEmail.evict(email);
+                } else {
+                    // The user may be loading right now, before its email is known here.
+                    usersByEmail.cancelLoads();
+                }
+            }
+            case "comments" -> {
+                if (event.getPostId() != null) {
+                    commentsByPost.evict(event.getPostId());
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void invalidateAll(String collection) {
+        switch (collection) {
+            case "blogPosts" -> {
+                posts.clear();
+                commentsByPost.clear();
+            }
+            case "users" -> {
+                usersByEmail.clear();
+                emailsByUserId.clear();
+            }
+            case "comments" -> commentsByPost.clear();
+            default -> { }
+        }
+    }
+}
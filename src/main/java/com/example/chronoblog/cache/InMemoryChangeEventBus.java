@@ -0,0 +1,14 @@
+package com.example.chronoblog.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node bus: only writes made through this application instance are seen.
+ * Enable with chronoblog.events.bus=local, e.g. for tests or a standalone Mongo
+ * without change stream support.
+ */
+@Component
+@ConditionalOnProperty(name = "chronoblog.events.bus", havingValue = "local")
+public class InMemoryChangeEventBus extends AbstractChangeEventBus {
+}
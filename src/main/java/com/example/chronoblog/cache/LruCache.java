@@ -0,0 +1,87 @@
+package com.example.chronoblog.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A small thread-safe least-recently-used map with a fixed maximum size.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    // One token per key whose loader is running; an evict drops it so the stale result is not cached.
+    private final Map<K, Object> loading = new HashMap<>();
+
+    public LruCache(int maxSize) {
+        this(maxSize, (key, value) -> { });
+    }
+
+    /**
+     * @param onEvicted called, under the cache's lock, for each entry pushed out by the size limit
+     */
+    public LruCache(int maxSize, BiConsumer<K, V> onEvicted) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                onEvicted.accept(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it. Null results are not cached.
+     * The loader runs outside the lock, so concurrent misses may load the same key twice;
+     * a result is only cached if the key was not evicted while it was loading.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Object token = new Object();
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loading.put(key, token);
+        }
+        V loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.remove(key, token);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            if (loading.remove(key, token) && loaded != null) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized V evict(K key) {
+        loading.remove(key);
+        return entries.remove(key);
+    }
+
+    /**
+     * Keeps the results of loads that are running now out of the cache, for a change whose
+     * key is not known.
+     */
+    public synchronized void cancelLoads() {
+        loading.clear();
+    }
+
+    public synchronized void clear() {
+        loading.clear();
+        entries.clear();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.chronoblog.cache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.model.ChangeStreamToken;
+import com.example.chronoblog.repository.ChangeStreamTokenRepository;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cluster-wide bus backed by MongoDB change streams (requires a replica set).
+ * Each node tails blogPosts, users and comments on its own thread and dispatches every
+ * change, whichever node made it. Writes made on this node are also dispatched straight
+ * away through {@link #publish} so the writer reads its own writes without waiting.
+ *
+ * Resume tokens are persisted per node and collection every chronoblog.events.token-save-interval
+ * events (and when the stream goes idle), so a restart replays at most that many events.
+ */
+@Component
+@ConditionalOnProperty(name = "chronoblog.events.bus", havingValue = "mongo", matchIfMissing = true)
+public class MongoChangeStreamEventBus extends AbstractChangeEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoChangeStreamEventBus.class);
+
+    static final List<String> COLLECTIONS = List.of("blogPosts", "users", "comments");
+
+    // Server errors meaning the stored resume token can no longer be used.
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    // The server is a standalone instance, where change streams do not exist.
+    private static final int CHANGE_STREAM_NOT_SUPPORTED = 40573;
+
+    private static final long RETRY_DELAY_MS = 5000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChangeStreamTokenRepository changeStreamTokenRepository;
+
+    @Value("${chronoblog.events.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${chronoblog.events.token-save-interval:100}")
+    private int tokenSaveInterval;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        running = true;
+        for (String collection : COLLECTIONS) {
+            Thread worker = new Thread(() -> tail(collection), "change-stream-" + collection);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    private void tail(String collection) {
+        String tokenId = nodeId + ":" + collection;
+        while (running) {
+            BsonDocument resumeToken = changeStreamTokenRepository.findById(tokenId)
+                    .map(token -> BsonDocument.parse(token.getResumeToken()))
+                    .orElse(null);
+            try {
+                watch(collection, tokenId, resumeToken);
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    // Events were missed; start over from now and drop anything that may be stale.
+                    log.warn("Resume token for {} is no longer valid; invalidating cache.", collection);
+                    changeStreamTokenRepository.deleteById(tokenId);
+                    dispatch(new ChangeEvent(collection, null, ChangeEvent.Operation.INVALIDATE_ALL, null));
+                } else if (e.getErrorCode() == CHANGE_STREAM_NOT_SUPPORTED) {
+                    log.warn("Change streams are not supported by this MongoDB deployment; {} changes made by "
+                            + "other nodes will not be seen. Set chronoblog.events.bus=local for single-node setups.", collection);
+                    return;
+                } else {
+                    pause(collection, e);
+                }
+            } catch (MongoException e) {
+                pause(collection, e);
+            }
+        }
+    }
+
+    private void watch(String collection, String tokenId, BsonDocument resumeToken) {
+        // Only the fields needed to route an event are sent over the wire.
+        List<Bson> pipeline = List.of(Aggregates.project(
+                Projections.include("operationType", "documentKey", "ns", "fullDocument.postId")));
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch(pipeline)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+
+        int unsaved = 0;
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    ChangeEvent event = toEvent(collection, change);
+                    if (event != null) {
+                        dispatch(event);
+                    }
+                    unsaved++;
+                }
+                if (unsaved >= tokenSaveInterval || (change == null && unsaved > 0)) {
+                    saveToken(tokenId, cursor.getResumeToken());
+                    unsaved = 0;
+                }
+            }
+        }
+    }
+
+    private ChangeEvent toEvent(String collection, ChangeStreamDocument<Document> change) {
+        OperationType type = change.getOperationType();
+        if (type == OperationType.INSERT || type == OperationType.UPDATE || type == OperationType.REPLACE
+                || type == OperationType.DELETE) {
+            String postId = change.getFullDocument() != null ? change.getFullDocument().getString("postId") : null;
+            ChangeEvent.Operation operation = type == OperationType.DELETE
+                    ? ChangeEvent.Operation.DELETE
+                    : ChangeEvent.Operation.UPSERT;
+            return new ChangeEvent(collection, idOf(change.getDocumentKey()), operation, postId);
+        }
+        if (type == OperationType.DROP || type == OperationType.RENAME || type == OperationType.DROP_DATABASE
+                || type == OperationType.INVALIDATE) {
+            return new ChangeEvent(collection, null, ChangeEvent.Operation.INVALIDATE_ALL, null);
+        }
+        return null;
+    }
+
+    private String idOf(BsonDocument documentKey) {
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (id == null) {
+            return null;
+        }
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private void saveToken(String tokenId, BsonDocument resumeToken) {
+        if (resumeToken == null) {
+            return;
+        }
+        ChangeStreamToken token = new ChangeStreamToken();
+        token.setId(tokenId);
+        token.setResumeToken(resumeToken.toJson());
+        token.setUpdatedAt(Instant.now());
+        changeStreamTokenRepository.save(token);
+    }
+
+    private void pause(String collection, Exception e) {
+        if (!running) {
+            return;
+        }
+        log.warn("Change stream on {} failed; retrying in {} ms.", collection, RETRY_DELAY_MS, e);
+        try {
+            Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
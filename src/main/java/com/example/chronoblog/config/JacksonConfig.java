@@ -0,0 +1,181 @@
+package com.example.chronoblog.config;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.dto.PostSummary;
+import com.example.chronoblog.model.BlogPost;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written serializers for the types that make up feed pages, registered with Boot's
+ * ObjectMapper.
+ *
+ * They emit exactly the fields, names and order that bean serialization produced, but write
+ * them straight to the JsonGenerator instead of going through per-property reflection.
+ * Pages get a stable envelope: the PageImpl fields clients read (content, number, size,
+ * totalElements, totalPages, numberOfElements, first, last, empty) without the pageable and
+ * sort objects, whose shape changes between Spring Data versions.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module feedSerializersModule() {
+        SimpleModule module = new SimpleModule("chronoblog-feed");
+        module.addSerializer(new PageSerializer());
+        module.addSerializer(new BlogPostSerializer());
+        module.addSerializer(new PostSummarySerializer());
+        module.addSerializer(new CommentResponseSerializer());
+        return module;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static class PageSerializer extends StdSerializer<Page> {
+
+        PageSerializer() {
+            super(Page.class);
+        }
+
+        @Override
+        public void serialize(Page page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName("content");
+            gen.writeStartArray();
+            for (Object item : page.getContent()) {
+                provider.defaultSerializeValue(item, gen);
+            }
+            gen.writeEndArray();
+            gen.writeNumberField("totalPages", page.getTotalPages());
+            gen.writeNumberField("totalElements", page.getTotalElements());
+            gen.writeBooleanField("last", page.isLast());
+            gen.writeNumberField("size", page.getSize());
+            gen.writeNumberField("number", page.getNumber());
+            gen.writeBooleanField("first", page.isFirst());
+            gen.writeNumberField("numberOfElements", page.getNumberOfElements());
+            gen.writeBooleanField("empty", page.isEmpty());
+            gen.writeEndObject();
+        }
+    }
+
+    static class BlogPostSerializer extends StdSerializer<BlogPost> {
+
+        BlogPostSerializer() {
+            super(BlogPost.class);
+        }
+
+        @Override
+        public void serialize(BlogPost post, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("id", post.getId());
+            gen.writeStringField("title", post.getTitle());
+            gen.writeStringField("content", post.getContent());
+            gen.writeStringField("excerpt", post.getExcerpt());
+            gen.writeNumberField("wordCount", post.getWordCount());
+            gen.writeNumberField("readingTimeMinutes", post.getReadingTimeMinutes());
+            gen.writeStringField("coverImageUrl", post.getCoverImageUrl());
+            gen.writeNumberField("renderVersion", post.getRenderVersion());
+            writeStrings(gen, "tags", post.getTags());
+            gen.writeStringField("authorId", post.getAuthorId());
+            gen.writeStringField("author", post.getAuthor());
+            gen.writeStringField("status", post.getStatus() != null ? post.getStatus().name() : null);
+            writeInstant(gen, provider, "publishAt", post.getPublishAt());
+            gen.writeNumberField("likesCount", post.getLikesCount());
+            gen.writeNumberField("commentsCount", post.getCommentsCount());
+            gen.writeNumberField("uniqueViewers", post.getUniqueViewers());
+            writeStrings(gen, "likedBy", post.getLikedBy());
+            gen.writeNumberField("revision", post.getRevision());
+            if (post.getArchivedAt() != null) {
+                writeInstant(gen, provider, "archivedAt", post.getArchivedAt());
+            }
+            writeInstant(gen, provider, "createdAt", post.getCreatedAt());
+            writeInstant(gen, provider, "updatedAt", post.getUpdatedAt());
+            gen.writeBooleanField("isPrivate", post.isPrivate());
+            gen.writeEndObject();
+        }
+    }
+
+    static class PostSummarySerializer extends StdSerializer<PostSummary> {
+
+        PostSummarySerializer() {
+            super(PostSummary.class);
+        }
+
+        @Override
+        public void serialize(PostSummary summary, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("id", summary.getId());
+            gen.writeStringField("title", summary.getTitle());
+            gen.writeStringField("excerpt", summary.getExcerpt());
+            gen.writeStringField("author", summary.getAuthor());
+            gen.writeStringField("coverImageUrl", summary.getCoverImageUrl());
+            gen.writeNumberField("readingTimeMinutes", summary.getReadingTimeMinutes());
+            writeInstant(gen, provider, "publishAt", summary.getPublishAt());
+            gen.writeEndObject();
+        }
+    }
+
+    static class CommentResponseSerializer extends StdSerializer<CommentResponse> {
+
+        CommentResponseSerializer() {
+            super(CommentResponse.class);
+        }
+
+        @Override
+        public void serialize(CommentResponse comment, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("id", comment.getId());
+            gen.writeStringField("postId", comment.getPostId());
+            gen.writeStringField("authorId", comment.getAuthorId());
+            gen.writeStringField("authorUsername", comment.getAuthorUsername());
+            gen.writeStringField("content", comment.getContent());
+            writeInstant(gen, provider, "createdAt", comment.getCreatedAt());
+            gen.writeStringField("parentId", comment.getParentId());
+            gen.writeNumberField("depth", comment.getDepth());
+            gen.writeNumberField("replyCount", comment.getReplyCount());
+            if (comment.getReplies() != null) {
+                gen.writeFieldName("replies");
+                gen.writeStartArray();
+                for (CommentResponse reply : comment.getReplies()) {
+                    serialize(reply, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    // Goes through the configured Instant serializer so spring.jackson date settings still apply.
+    private static void writeInstant(JsonGenerator gen, SerializerProvider provider, String name, Instant value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            provider.findValueSerializer(Instant.class).serialize(value, gen, provider);
+        }
+    }
+
+    private static void writeStrings(JsonGenerator gen, String name, Collection<String> values) throws IOException {
+        gen.writeFieldName(name);
+        if (values == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (String value : values) {
+            gen.writeString(value);
+        }
+        gen.writeEndArray();
+    }
+}
@@ -1,9 +1,129 @@
 package com.example.chronoblog.config;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
-}
\ No newline at end of file
+
+    private static final Logger log = LoggerFactory.getLogger(MongoConfig.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+
+    /**
+     * Multi-document transactions for writes that must change several collections together,
+     * such as a post and its tag counts. They need a replica set or mongos, so they are off
+     * unless chronoblog.mongo.transactions=true; without them those writes run one after another.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "chronoblog.mongo.transactions", havingValue = "true")
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    /**
+     * Connection pool settings from chronoblog.mongo.pool.* (max-size, min-size, max-wait-ms,
+     * max-idle-ms, max-connecting); unset ones keep the value from the connection string or the
+     * driver default. The settings each pool was created with are published as the
+     * chronoblog.mongo.pool.max.size and .min.size gauges, next to Boot's mongodb.driver.pool.*
+     * usage metrics.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(Environment environment, MeterRegistry meterRegistry) {
+        AtomicInteger maxSize = new AtomicInteger();
+        AtomicInteger minSize = new AtomicInteger();
+        Gauge.builder("chronoblog.mongo.pool.max.size", maxSize, AtomicInteger::get)
+                .description("Configured maximum connections per Mongo server")
+                .register(meterRegistry);
+        Gauge.builder("chronoblog.mongo.pool.min.size", minSize, AtomicInteger::get)
+                .description("Configured minimum connections per Mongo server")
+                .register(meterRegistry);
+        ConnectionPoolListener settingsListener = new ConnectionPoolListener() {
+            @Override
+            public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+                maxSize.set(event.getSettings().getMaxSize());
+                minSize.set(event.getSettings().getMinSize());
+                log.info("Mongo connection pool for {}: {}", event.getServerId().getAddress(), event.getSettings());
+            }
+        };
+
+        Integer poolMax = environment.getProperty("chronoblog.mongo.pool.max-size", Integer.class);
+        Integer poolMin = environment.getProperty("chronoblog.mongo.pool.min-size", Integer.class);
+        Long maxWaitMs = environment.getProperty("chronoblog.mongo.pool.max-wait-ms", Long.class);
+        Long maxIdleMs = environment.getProperty("chronoblog.mongo.pool.max-idle-ms", Long.class);
+        Integer maxConnecting = environment.getProperty("chronoblog.mongo.pool.max-connecting", Integer.class);
+        return builder -> builder.applyToConnectionPoolSettings(pool -> {
+            if (poolMax != null) {
+                pool.maxSize(poolMax);
+            }
+            if (poolMin != null) {
+                pool.minSize(poolMin);
+            }
+            if (maxWaitMs != null) {
+                pool.maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+            if (maxIdleMs != null) {
+                pool.maxConnectionIdleTime(maxIdleMs, TimeUnit.MILLISECONDS);
+            }
+            if (maxConnecting != null) {
+                pool.maxConnecting(maxConnecting);
+            }
+            pool.addConnectionPoolListener(settingsListener);
+        });
+    }
+
+    /**
+     * Creates the indexes declared with @Indexed/@CompoundIndex on the model classes.
+     * Spring Boot leaves automatic index creation off, but registration relies on the
+     * unique indexes on User to reject duplicate usernames and emails.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            resolver.resolveIndexFor(entity.getType()).forEach(index -> {
+                try {
+                    indexOps.createIndex(index);
+                } catch (RuntimeException e) {
+                    log.error("Could not create index {} on {}", index.getIndexKeys(), entity.getCollection(), e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.chronoblog.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+
+/**
+ * One MongoTemplate per OperationProfile, each with its own write concern, read preference and
+ * timeout, for example:
+ *
+ *   chronoblog.mongo.profiles.likes.write-concern=W1          (WriteConcern names: MAJORITY, W1, UNACKNOWLEDGED...)
+ *   chronoblog.mongo.profiles.posts.read-preference=primary   (ReadPreference names: secondaryPreferred, nearest...)
+ *   chronoblog.mongo.profiles.scheduler.timeout-ms=30000      (0 disables it)
+ *
+ * The templates share the application's database factory and converter, so they take part in
+ * Mongo transactions and publish the same mapping events (auditing, change events) as the
+ * default template. The timeout bounds the whole operation, server selection and retries
+ * included, and is also sent to the server as maxTimeMS. Inside a transaction the transaction's
+ * write concern replaces the profile's, but reads keep the profile's read preference and the
+ * driver rejects any other than primary, so the transactional profiles (posts, scheduler) only
+ * accept primary and an acknowledged write concern. Repository methods keep using the default
+ * template and the client's settings.
+ */
+@Component
+public class MongoOperationProfiles {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoOperationProfiles.class);
+
+    private final Map<OperationProfile, MongoTemplate> templates = new EnumMap<>(OperationProfile.class);
+
+    public MongoOperationProfiles(MongoDatabaseFactory databaseFactory, MongoTemplate mongoTemplate,
+                                  ApplicationContext applicationContext, Environment environment) {
+        for (OperationProfile profile : OperationProfile.values()) {
+            String prefix = "chronoblog.mongo.profiles." + profile.getPropertyName() + ".";
+            WriteConcern writeConcern = parseWriteConcern(
+                    environment.getProperty(prefix + "write-concern", profile.getDefaultWriteConcern()));
+            ReadPreference readPreference = ReadPreference.valueOf(
+                    environment.getProperty(prefix + "read-preference", profile.getDefaultReadPreference()));
+            long timeoutMs = environment.getProperty(prefix + "timeout-ms", Long.class, profile.getDefaultTimeoutMs());
+            if (profile.isTransactional() && (!readPreference.equals(ReadPreference.primary()) || !writeConcern.isAcknowledged())) {
+                throw new IllegalStateException("Mongo profile " + profile.getPropertyName() + " runs inside transactions, "
+                        + "so it needs read preference primary and an acknowledged write concern.");
+            }
+
+            ProfiledMongoTemplate template = new ProfiledMongoTemplate(databaseFactory, mongoTemplate, timeoutMs);
+            template.setWriteConcern(writeConcern);
+            template.setReadPreference(readPreference);
+            template.setApplicationContext(applicationContext);
+            templates.put(profile, template);
+            log.info("Mongo profile {}: writeConcern={}, readPreference={}, timeoutMs={}",
+                    profile.getPropertyName(), writeConcern, readPreference.getName(), timeoutMs);
+        }
+    }
+
+    public MongoTemplate template(OperationProfile profile) {
+        return templates.get(profile);
+    }
+
+    private static WriteConcern parseWriteConcern(String name) {
+        WriteConcern writeConcern = WriteConcern.valueOf(name);
+        if (writeConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + name);
+        }
+        return writeConcern;
+    }
+
+    private static class ProfiledMongoTemplate extends MongoTemplate {
+
+        private final long timeoutMs;
+
+        ProfiledMongoTemplate(MongoDatabaseFactory databaseFactory, MongoTemplate mongoTemplate, long timeoutMs) {
+            super(databaseFactory, mongoTemplate.getConverter());
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+            MongoCollection<Document> prepared = super.prepareCollection(collection);
+            return timeoutMs > 0 ? prepared.withTimeout(timeoutMs, TimeUnit.MILLISECONDS) : prepared;
+        }
+    }
+}
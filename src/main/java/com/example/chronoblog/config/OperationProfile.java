@@ -0,0 +1,53 @@
+package com.example.chronoblog.config;
+
+/**
+ * Kinds of Mongo work that need different durability and latency trade-offs. Each has its own
+ * write concern, read preference and timeout, configured under chronoblog.mongo.profiles.<name>;
+ * see MongoOperationProfiles.
+ */
+public enum OperationProfile {
+
+    // Likes and view counters: cheap to lose or reconcile, written on hot paths
+    LIKES("likes", "W1", "primary", 2_000, false),
+    COMMENTS("comments", "W1", "primary", 2_000, false),
+    POSTS("posts", "MAJORITY", "primary", 5_000, true),
+    USERS("users", "MAJORITY", "primary", 5_000, false),
+    // Background jobs, which can wait longer but must not lose a publish
+    SCHEDULER("scheduler", "MAJORITY", "primary", 30_000, true);
+
+    private final String propertyName;
+    private final String defaultWriteConcern;
+    private final String defaultReadPreference;
+    private final long defaultTimeoutMs;
+    private final boolean transactional;
+
+    OperationProfile(String propertyName, String defaultWriteConcern, String defaultReadPreference, long defaultTimeoutMs,
+                     boolean transactional) {
+        this.propertyName = propertyName;
+        this.defaultWriteConcern = defaultWriteConcern;
+        this.defaultReadPreference = defaultReadPreference;
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        this.transactional = transactional;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public String getDefaultWriteConcern() {
+        return defaultWriteConcern;
+    }
+
+    public String getDefaultReadPreference() {
+        return defaultReadPreference;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+
+    // Used inside TagService.inTransaction, so its operations may run in a Mongo transaction
+    public boolean isTransactional() {
+        return transactional;
+    }
+}
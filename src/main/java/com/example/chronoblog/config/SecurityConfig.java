@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -19,6 +20,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -57,11 +59,19 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Allow public access to authentication endpoints
                         .requestMatchers("/api/auth/**").permitAll()
+                        // The timeline is per-user; without this it would match the public /api/posts/{id} rule
+                        .requestMatchers(HttpMethod.GET, "/api/posts/timeline").authenticated()
                         // Allow public read-access to blog posts and user profiles by username
-                        .requestMatchers(HttpMethod.GET, "/api/posts/public", "/api/posts/{id}", "/api/users/{username}").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/posts/public", "/api/posts/trending", "/api/posts/stream", "/api/posts/tags", "/api/posts/tags/{tag}", "/api/posts/{id}", "/api/users/{username}").permitAll()
+                        // Batch reads follow the same per-post privacy rules as GET /api/posts/{id}
+                        .requestMatchers(HttpMethod.POST, "/api/posts/batch").permitAll()
+                        // Allow load balancers and orchestrators to poll liveness and readiness
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
                         // All other requests must be authenticated
                         .anyRequest().authenticated()
                 )
+                // Answer unauthenticated requests with 401 rather than the default 403
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 // Configure session management to be stateless
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // Set the custom authentication provider
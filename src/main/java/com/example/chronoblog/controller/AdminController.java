@@ -0,0 +1,100 @@
+package com.example.chronoblog.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.chronoblog.dto.ImportResult;
+import com.example.chronoblog.dto.ReconciliationReport;
+import com.example.chronoblog.service.BulkTransferService;
+import com.example.chronoblog.service.CounterReconciliationService;
+import com.example.chronoblog.service.PostArchiveService;
+import com.example.chronoblog.service.PostContentService;
+import com.example.chronoblog.service.TagService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Administrative endpoints for bulk data migration and maintenance jobs.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class AdminController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private BulkTransferService bulkTransferService;
+
+    @Autowired
+    private PostContentService postContentService;
+
+    @Autowired
+    private CounterReconciliationService counterReconciliationService;
+
+    @Autowired
+    private PostArchiveService postArchiveService;
+
+    @Autowired
+    private TagService tagService;
+
+    // Streams all posts with their comments, optionally restricted to one author
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(required = false) String authorId) {
+        StreamingResponseBody body = out -> bulkTransferService.exportPosts(authorId, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Imports an NDJSON export; re-posting with the same jobId resumes from the last checkpoint
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportResult> importPosts(@RequestParam String jobId, HttpServletRequest request) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            return ResponseEntity.ok(bulkTransferService.importPosts(jobId, in));
+        }
+    }
+
+    // Re-renders sanitized content and artifacts for posts written by an older pipeline
+    @PostMapping("/content/backfill")
+    public ResponseEntity<?> backfillContent() {
+        long updated = postContentService.backfill();
+        return ResponseEntity.ok().body("Re-rendered " + updated + " post(s)");
+    }
+
+    // Stores large content written before compression existed in compressed form
+    @PostMapping("/content/compress")
+    public ResponseEntity<?> compressContent() {
+        long updated = postContentService.compressContent();
+        return ResponseEntity.ok().body("Compressed " + updated + " post(s)");
+    }
+
+    // Recomputes likesCount and commentsCount for all posts and fixes the ones that drifted
+    @PostMapping("/counters/reconcile")
+    public ResponseEntity<ReconciliationReport> reconcileCounters() {
+        return ResponseEntity.ok(counterReconciliationService.reconcile());
+    }
+
+    // Moves old, inactive published posts to the cold archive now instead of at the nightly run
+    @PostMapping("/posts/archive")
+    public ResponseEntity<?> archivePosts() {
+        long moved = postArchiveService.archive();
+        return ResponseEntity.ok().body("Archived " + moved + " post(s)");
+    }
+
+    // Recomputes all tag counts from the posts, e.g. after a bulk import
+    @PostMapping("/tags/rebuild")
+    public ResponseEntity<?> rebuildTagCounts() {
+        long tags = tagService.rebuildCounts();
+        return ResponseEntity.ok().body("Rebuilt counts for " + tags + " tag(s)");
+    }
+}
@@ -1,29 +1,44 @@
 package com.example.chronoblog.controller;
 
 import com.example.chronoblog.dto.AuthResponse;
+import com.example.chronoblog.dto.AvailabilityResponse;
 import com.example.chronoblog.dto.LoginRequest;
 import com.example.chronoblog.dto.RegisterRequest;
+import com.example.chronoblog.exception.BadRequestException;
+import com.example.chronoblog.exception.UnauthorizedException;
 import com.example.chronoblog.model.AccountStatus; // Import AccountStatus
 import com.example.chronoblog.model.User;
 import com.example.chronoblog.repository.UserRepository;
+import com.example.chronoblog.security.AuthenticatedUser;
 import com.example.chronoblog.security.JwtUtil;
+import com.example.chronoblog.security.TokenDenylist;
+import com.example.chronoblog.service.AvailabilityService;
+import com.mongodb.MongoWriteException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    // "E11000 duplicate key error collection: chronoblog.users index: email dup key: { ... }"
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+
     @Autowired
     private AuthenticationManager authenticationManager;
     @Autowired
@@ -32,28 +47,25 @@ public class AuthController {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private AvailabilityService availabilityService;
+    @Autowired
+    private TokenDenylist tokenDenylist;
 
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        // One user lookup and one BCrypt check; the principal already carries the username.
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String jwt = jwtUtil.generateToken(userDetails);
-        User user = userRepository.findByEmail(userDetails.getUsername()).orElseThrow();
-        return ResponseEntity.ok(new AuthResponse(jwt, user.getUsername()));
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        String jwt = jwtUtil.generateToken(principal);
+        return ResponseEntity.ok(new AuthResponse(jwt, principal.getDisplayUsername()));
     }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            return ResponseEntity.badRequest().body("Error: Username is already taken!");
-        }
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            return ResponseEntity.badRequest().body("Error: Email is already in use!");
-        }
-
         User user = new User(
                 registerRequest.getUsername(),
                 registerRequest.getEmail(),
@@ -61,14 +73,58 @@ public class AuthController {
         );
         user.setRoles(Set.of("ROLE_BLOGGER"));
         user.setAccountStatus(AccountStatus.ACTIVE); // Set default status
-        userRepository.save(user);
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(registerRequest.getEmail(), registerRequest.getPassword())
-        );
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String jwt = jwtUtil.generateToken(userDetails);
-        return ResponseEntity.ok(new AuthResponse(jwt, registerRequest.getUsername()));
+        // The unique indexes on username and email reject duplicates; no existence checks up front.
+        User savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            if ("email".equals(duplicateIndex(e))) {
+                return ResponseEntity.badRequest().body("Error: Email is already in use!");
+            }
+            return ResponseEntity.badRequest().body("Error: Username is already taken!");
+        }
+        availabilityService.recordRegistration(savedUser.getUsername(), savedUser.getEmail());
+
+        // The password was just hashed and stored, so there is nothing to verify again.
+        String jwt = jwtUtil.generateToken(new AuthenticatedUser(savedUser));
+        return ResponseEntity.ok(new AuthResponse(jwt, savedUser.getUsername()));
+    }
+
+    // The unique index that rejected the insert; the username itself may well contain "email"
+    private static String duplicateIndex(DuplicateKeyException e) {
+        String message = e.getCause() instanceof MongoWriteException writeException
+                ? writeException.getError().getMessage()
+                : e.getMessage();
+        Matcher matcher = DUPLICATE_INDEX.matcher(message != null ? message : "");
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new UnauthorizedException("No bearer token to revoke.");
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(authHeader.substring(7));
+        } catch (JwtException e) {
+            throw new UnauthorizedException("Token is invalid or already expired.");
+        }
+        tokenDenylist.revoke(jwtUtil.extractTokenId(claims), claims.getExpiration().toInstant());
+        SecurityContextHolder.clearContext();
+        return ResponseEntity.ok("Logged out successfully.");
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if (username == null && email == null) {
+            throw new BadRequestException("Provide a username and/or an email to check.");
+        }
+        return ResponseEntity.ok(new AvailabilityResponse(
+                username != null ? availabilityService.isUsernameAvailable(username) : null,
+                email != null ? availabilityService.isEmailAvailable(email) : null));
     }
 }
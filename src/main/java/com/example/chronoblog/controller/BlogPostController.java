@@ -8,28 +8,48 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.chronoblog.dto.AuthorDashboardDto;
+import com.example.chronoblog.dto.AutosaveResponse;
 import com.example.chronoblog.dto.CommentRequest;
 import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.dto.DraftDeltaRequest;
+import com.example.chronoblog.dto.PostBatchRequest;
+import com.example.chronoblog.dto.PostBatchResponse;
 import com.example.chronoblog.dto.PostRequest;
+import com.example.chronoblog.dto.PostRevisionResponse;
+import com.example.chronoblog.dto.TimelinePage;
 import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.TagCount;
 import com.example.chronoblog.model.User;
 import com.example.chronoblog.repository.UserRepository;
 import com.example.chronoblog.service.BlogPostService;
+import com.example.chronoblog.service.IdempotencyService;
+import com.example.chronoblog.service.PostStreamService;
+import com.example.chronoblog.service.TagService;
+import com.example.chronoblog.service.TimelineService;
+import com.example.chronoblog.service.TrendingService;
+import com.example.chronoblog.service.ViewCounterService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import com.example.chronoblog.exception.ResourceNotFoundException;
@@ -48,22 +68,84 @@ public class BlogPostController {
     private UserRepository userRepository;
     @Autowired
     private PublishingScheduler publishingScheduler;
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private TimelineService timelineService;
+    @Autowired
+    private ViewCounterService viewCounterService;
+    @Autowired
+    private PostStreamService postStreamService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private IdempotencyService idempotencyService;
 
     @GetMapping("/public")
-    public Page<BlogPost> getAllPublicPosts(@PageableDefault(sort = "publishAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        return blogPostService.getAllPublicPosts(pageable);
+    public Page<BlogPost> getAllPublicPosts(@PageableDefault(sort = "publishAt", direction = Sort.Direction.DESC) Pageable pageable,
+                                            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return blogPostService.getAllPublicPosts(pageable, includeArchived);
+    }
+
+    @GetMapping("/trending")
+    public List<BlogPost> getTrendingPosts(@RequestParam(defaultValue = "20") int limit) {
+        return trendingService.getTrendingPosts(limit);
+    }
+
+    // Most used tags with their post counts; refreshed at most once a minute
+    @GetMapping("/tags")
+    public List<TagCount> getTopTags(@RequestParam(defaultValue = "20") int limit) {
+        return tagService.getTopTags(limit);
+    }
+
+    // Public posts with the tag, newest first; pass nextCursor back to fetch the following page
+    @GetMapping("/tags/{tag}")
+    public TimelinePage getPostsByTag(@PathVariable String tag,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return tagService.getPostsByTag(tag, cursor, size);
+    }
+
+    // Server-Sent Events: a "post" event with a PostSummary for each newly published public post
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPublishedPosts(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return postStreamService.subscribe(lastEventId);
+    }
+
+    // Posts from followed authors, newest first; pass nextCursor back to fetch the following page
+    @GetMapping("/timeline")
+    public TimelinePage getHomeTimeline(@AuthenticationPrincipal UserDetails userDetails,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return timelineService.getHomeTimeline(userDetails, cursor, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BlogPost> getPostById(@PathVariable String id, @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<BlogPost> getPostById(@PathVariable String id, @AuthenticationPrincipal UserDetails userDetails, HttpServletRequest request) {
         BlogPost post = blogPostService.getPostById(id, userDetails);
+        // Signed-in viewers are counted by account, anonymous ones by address and client; only a hash is kept.
+        String viewerKey = userDetails != null
+                ? "user:" + userDetails.getUsername()
+                : "anon:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
+        if (viewCounterService.recordView(id, viewerKey)) {
+            trendingService.recordView(post);
+        }
         return ResponseEntity.ok(post);
     }
 
+    // Many posts in one call; ids that are missing or private to someone else are listed, not fatal
+    @PostMapping("/batch")
+    public PostBatchResponse getPostsByIds(@RequestBody PostBatchRequest batchRequest, @AuthenticationPrincipal UserDetails userDetails) {
+        return blogPostService.getPostsByIds(batchRequest.getIds(), userDetails);
+    }
+
     @PostMapping
     
-    public ResponseEntity<BlogPost> createPost(@Valid @RequestBody PostRequest postRequest, @AuthenticationPrincipal UserDetails userDetails) {
-        BlogPost createdPost = blogPostService.createPost(postRequest, userDetails);
+    public ResponseEntity<BlogPost> createPost(@Valid @RequestBody PostRequest postRequest, @AuthenticationPrincipal UserDetails userDetails,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // A retried request with the same key gets the original post back instead of a duplicate.
+        BlogPost createdPost = idempotencyService.execute(idempotencyKey, userDetails.getUsername(), "createPost", postRequest,
+                BlogPost.class, () -> blogPostService.createPost(postRequest, userDetails));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPost);
     }
     
@@ -82,6 +164,22 @@ public class BlogPostController {
         return ResponseEntity.ok(updatedPost);
     }
 
+    // Autosave for drafts: a text delta against baseRevision instead of the full content
+    @PatchMapping("/{id}/draft")
+    public AutosaveResponse autosaveDraft(@PathVariable String id, @RequestBody DraftDeltaRequest deltaRequest, @AuthenticationPrincipal UserDetails userDetails) {
+        return blogPostService.autosaveDraft(id, deltaRequest, userDetails);
+    }
+
+    @GetMapping("/{id}/draft")
+    public PostRevisionResponse getDraft(@PathVariable String id, @AuthenticationPrincipal UserDetails userDetails) {
+        return blogPostService.getDraft(id, userDetails);
+    }
+
+    @GetMapping("/{id}/revisions/{revision}")
+    public PostRevisionResponse getRevision(@PathVariable String id, @PathVariable long revision, @AuthenticationPrincipal UserDetails userDetails) {
+        return blogPostService.getRevision(id, revision, userDetails);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletePost(@PathVariable String id, @AuthenticationPrincipal UserDetails userDetails) {
         try {
@@ -118,8 +216,10 @@ public class BlogPostController {
 
     @PostMapping("/{id}/comments")
     
-    public ResponseEntity<CommentResponse> addComment(@PathVariable String id, @Valid @RequestBody CommentRequest commentRequest, @AuthenticationPrincipal UserDetails userDetails) {
-        CommentResponse comment = blogPostService.addComment(id, commentRequest, userDetails);
+    public ResponseEntity<CommentResponse> addComment(@PathVariable String id, @Valid @RequestBody CommentRequest commentRequest, @AuthenticationPrincipal UserDetails userDetails,
+                                                      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        CommentResponse comment = idempotencyService.execute(idempotencyKey, userDetails.getUsername(), "addComment:" + id, commentRequest,
+                CommentResponse.class, () -> blogPostService.addComment(id, commentRequest, userDetails));
         return ResponseEntity.status(HttpStatus.CREATED).body(comment);
     }
 
@@ -129,6 +229,16 @@ public class BlogPostController {
         return ResponseEntity.ok(comments);
     }
 
+    @GetMapping("/{id}/comments/threads")
+    public Page<CommentResponse> getCommentThreads(@PathVariable String id, Pageable pageable) {
+        return blogPostService.getCommentThreads(id, pageable);
+    }
+
+    @GetMapping("/comments/{commentId}/thread")
+    public CommentResponse getCommentThread(@PathVariable String commentId) {
+        return blogPostService.getCommentThread(commentId);
+    }
+
     @DeleteMapping("/comments/{commentId}")
     
     public ResponseEntity<?> deleteComment(@PathVariable String commentId, @AuthenticationPrincipal UserDetails userDetails) {
@@ -161,4 +271,10 @@ public class BlogPostController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         return blogPostService.getPrivatePostsByAuthor(user.getId(), pageable);
     }
+
+    @GetMapping("/me/dashboard")
+    @PreAuthorize("hasAuthority('ROLE_BLOGGER')")
+    public AuthorDashboardDto getCurrentUserDashboard(@AuthenticationPrincipal UserDetails userDetails, Pageable pageable) {
+        return blogPostService.getAuthorDashboard(userDetails, pageable);
+    }
 }
@@ -57,4 +57,19 @@ public class UserController {
         userService.deleteAccount(currentUser);
         return ResponseEntity.ok().body("Account deleted successfully");
     }
+
+    // Protected endpoints for the logged-in user to follow or unfollow another user
+    @PostMapping("/{username}/follow")
+    @PreAuthorize("hasAuthority('ROLE_BLOGGER')")
+    public ResponseEntity<?> follow(@AuthenticationPrincipal UserDetails currentUser, @PathVariable String username) {
+        userService.follow(currentUser, username);
+        return ResponseEntity.ok().body("Following " + username);
+    }
+
+    @DeleteMapping("/{username}/follow")
+    @PreAuthorize("hasAuthority('ROLE_BLOGGER')")
+    public ResponseEntity<?> unfollow(@AuthenticationPrincipal UserDetails currentUser, @PathVariable String username) {
+        userService.unfollow(currentUser, username);
+        return ResponseEntity.ok().body("Unfollowed " + username);
+    }
 }
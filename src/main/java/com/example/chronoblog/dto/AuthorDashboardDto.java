@@ -0,0 +1,20 @@
+package com.example.chronoblog.dto;
+
+import org.springframework.data.domain.Page;
+
+import com.example.chronoblog.model.BlogPost;
+
+import lombok.Data;
+
+/**
+ * Everything the author dashboard needs in one response: the profile plus the first
+ * page of each of the "My Posts", public, private and time capsule lists.
+ */
+@Data
+public class AuthorDashboardDto {
+    private UserProfileDto profile;
+    private Page<BlogPost> posts;        // Same content as GET /api/posts/me
+    private Page<BlogPost> publicPosts;  // Same content as GET /api/posts/me/public
+    private Page<BlogPost> privatePosts; // Same content as GET /api/posts/me/private
+    private Page<BlogPost> timeCapsules; // Same content as GET /api/posts/time-capsules
+}
@@ -0,0 +1,13 @@
+package com.example.chronoblog.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AutosaveResponse {
+    private long revision; // Base for the next delta
+    private Instant savedAt; // Content is sanitized and rendered only when the draft is saved with PUT
+}
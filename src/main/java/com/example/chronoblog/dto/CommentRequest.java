@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class CommentRequest {
     private String content;
+    private String parentId; // Set to reply to an existing comment on the same post
 }
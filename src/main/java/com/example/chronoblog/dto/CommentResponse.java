@@ -1,6 +1,9 @@
 package com.example.chronoblog.dto;
 
 import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.Data;
 
@@ -12,4 +15,11 @@ public class CommentResponse {
     private String authorUsername;
     private String content;
     private Instant createdAt;
+    private String parentId;
+    private int depth;
+    private long replyCount;
+
+    // Nested replies in threaded views; absent when the list is flat or the replies are collapsed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<CommentResponse> replies;
 }
@@ -0,0 +1,13 @@
+package com.example.chronoblog.dto;
+
+import java.util.List;
+
+import com.example.chronoblog.model.DeltaOp;
+
+import lombok.Data;
+
+@Data
+public class DraftDeltaRequest {
+    private Long baseRevision; // The revision the ops were made against; must be the draft's current one
+    private List<DeltaOp> ops; // Edits to the content at baseRevision
+}
@@ -0,0 +1,37 @@
+package com.example.chronoblog.dto;
+
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.Comment;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single line of the NDJSON bulk export/import format.
+ * Each line carries either a post or one of its comments, tagged by type.
+ * A post's comments always follow the post line itself. Posts from the cold archive carry
+ * archivedAt and are imported back into the archive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportRecord {
+
+    public static final String TYPE_POST = "post";
+    public static final String TYPE_COMMENT = "comment";
+
+    private String type;
+    private BlogPost post;
+    private Comment comment;
+
+    public static ExportRecord of(BlogPost post) {
+        return new ExportRecord(TYPE_POST, post, null);
+    }
+
+    public static ExportRecord of(Comment comment) {
+        return new ExportRecord(TYPE_COMMENT, null, comment);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.chronoblog.dto;
+
+import lombok.Data;
+
+@Data
+public class ImportResult {
+    private String jobId;
+    private long resumedFromLine;   // Lines skipped because an earlier run already committed them
+    private long linesCommitted;    // Total lines committed for this job, including earlier runs
+    private long postsImported;
+    private long commentsImported;
+}
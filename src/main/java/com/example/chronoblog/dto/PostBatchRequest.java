@@ -0,0 +1,10 @@
+package com.example.chronoblog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class PostBatchRequest {
+    private List<String> ids; // Duplicates are ignored; at most chronoblog.posts.batch-max-ids per call
+}
@@ -0,0 +1,16 @@
+package com.example.chronoblog.dto;
+
+import java.util.List;
+
+import com.example.chronoblog.model.BlogPost;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PostBatchResponse {
+    private List<BlogPost> posts;   // Visible posts, in the order their ids were requested
+    private List<String> missing;   // Ids with no post, live or archived
+    private List<String> forbidden; // Private posts the caller may not read
+}
@@ -1,5 +1,7 @@
 package com.example.chronoblog.dto;
 
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Data;
@@ -10,6 +12,8 @@ public class PostRequest {
     private String content;
     private String publishAt;
     private String status;
+    private List<String> tags; // Replaces the post's tags; omit to keep them unchanged on update
+    private Long revision; // Optional: the post revision the edit is based on; a mismatch is rejected with 409
     // private String fileUrl;
     
     @JsonProperty("isPrivate")
@@ -0,0 +1,15 @@
+package com.example.chronoblog.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PostRevisionResponse {
+    private String postId;
+    private long revision;
+    private String content;
+    private Instant createdAt;
+}
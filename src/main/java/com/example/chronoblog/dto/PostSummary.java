@@ -0,0 +1,30 @@
+package com.example.chronoblog.dto;
+
+import java.time.Instant;
+
+import com.example.chronoblog.model.BlogPost;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The part of a post pushed to stream subscribers; clients fetch the full post when opened.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummary {
+    private String id;
+    private String title;
+    private String excerpt;
+    private String author;
+    private String coverImageUrl;
+    private int readingTimeMinutes;
+    private Instant publishAt;
+
+    public static PostSummary of(BlogPost post) {
+        return new PostSummary(post.getId(), post.getTitle(), post.getExcerpt(), post.getAuthor(),
+                post.getCoverImageUrl(), post.getReadingTimeMinutes(), post.getPublishAt());
+    }
+}
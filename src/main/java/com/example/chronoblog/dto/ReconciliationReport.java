@@ -0,0 +1,15 @@
+package com.example.chronoblog.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+@Data
+public class ReconciliationReport {
+    private Instant startedAt;
+    private long durationMs;
+    private long postsScanned;
+    private long likesMismatched;    // Posts whose likesCount differed from the size of likedBy
+    private long commentsMismatched; // Posts whose commentsCount differed from their stored comments
+    private long postsCorrected;     // Posts actually rewritten; a post changed concurrently is left for the next run
+}
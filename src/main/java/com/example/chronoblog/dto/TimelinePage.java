@@ -0,0 +1,15 @@
+package com.example.chronoblog.dto;
+
+import java.util.List;
+
+import com.example.chronoblog.model.BlogPost;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TimelinePage {
+    private List<BlogPost> posts;
+    private String nextCursor; // Pass back as ?cursor= for the next page; null when there are no more posts
+}
@@ -14,6 +14,8 @@ public class UserProfileDto {
     private String profileImageUrl;
     private long publishedPostsCount; // Added published post count
     private long timeCapsulesCount;   // Added time capsule count
+    private long followersCount;
+    private long followingCount;
     private AccountStatus accountStatus; // Added account status
     private Instant joinedDate;       // Added joined date
 }
\ No newline at end of file
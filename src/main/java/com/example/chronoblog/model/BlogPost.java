@@ -7,8 +7,12 @@ import java.util.Set;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.example.chronoblog.util.CompressedContentConverter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Data;
@@ -18,6 +22,7 @@ import lombok.Data;
  * Each document stores a single blog post, including its time capsule information.
  */
 @Document(collection = "blogPosts")
+@CompoundIndex(name = "tag_feed", def = "{'tags': 1, 'publishAt': -1, '_id': -1}") // Multikey; one entry per tag
 @Data
 public class BlogPost {
 
@@ -26,7 +31,21 @@ public class BlogPost {
 
     private String title;
 
-    private String content; // Will store the HTML content from the rich text editor.
+    @ValueConverter(CompressedContentConverter.class) // Stored deflated once it reaches ContentCompression.THRESHOLD_BYTES
+    private String content; // Sanitized HTML from the rich text editor; cleaned once on write.
+
+    // --- Render artifacts, derived from content at write time by PostContentService ---
+    private String excerpt; // Plain-text preview of the content
+
+    private int wordCount;
+
+    private int readingTimeMinutes;
+
+    private String coverImageUrl; // The first image in the content, if any
+
+    private int renderVersion; // Pipeline version the artifacts were produced with; 0 means never rendered
+
+    private Set<String> tags; // Normalized by TagService: lowercase letters, digits and dashes
 
     private String authorId; // A reference to the User's _id who wrote this post.
 
@@ -45,8 +64,15 @@ public class BlogPost {
 
     private int commentsCount; // Number of comments on the post
 
+    private long uniqueViewers; // Estimated distinct viewers, refreshed by ViewCounterService on each flush
+
     private Set<String> likedBy; // Set of user IDs who liked this post
+
+    private long revision; // Incremented by every edit through updatePost; used for optimistic concurrency checks
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant archivedAt; // Set only while the post lives in the cold archive; see PostArchiveService
+
     // private String fileUrl; // To store the URL of the uploaded file
 
     @CreatedDate // Automatically populated by Spring Data MongoDB when the document is first saved.
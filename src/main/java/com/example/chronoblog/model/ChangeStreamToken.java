@@ -0,0 +1,24 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * The last change stream resume token processed by a node for one collection,
+ * so a restarted node continues from where it stopped instead of missing events.
+ */
+@Document(collection = "changeStreamTokens")
+@Data
+public class ChangeStreamToken {
+
+    @Id
+    private String id; // "<nodeId>:<collection>"
+
+    private String resumeToken; // The token as extended JSON
+
+    private Instant updatedAt;
+}
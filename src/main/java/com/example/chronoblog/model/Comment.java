@@ -1,18 +1,30 @@
 package com.example.chronoblog.model;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.Data;
 
 /**
- * Represents comments on blog posts.
+ * Represents comments on blog posts, threaded as replies to other comments.
+ *
+ * Each comment stores its materialized path: the ids of its ancestors and itself joined
+ * with '/'. Ids are fixed-length ObjectId hex strings, so the subtree under a comment is
+ * the contiguous range [path, path + "0") of the path index and sorts depth-first with
+ * siblings in creation order. Comments written before threading have no path and are
+ * treated as top-level.
  */
 @Document(collection = "comments")
+@CompoundIndex(name = "post_path", def = "{'postId': 1, 'path': 1}")
+@CompoundIndex(name = "root_path", def = "{'rootId': 1, 'path': 1}")
+@CompoundIndex(name = "post_parent_created", def = "{'postId': 1, 'parentId': 1, 'createdAt': -1}")
 @Data
 public class Comment {
 
@@ -27,9 +39,31 @@ public class Comment {
 
     private String content; // The comment text
 
+    private String parentId; // The comment replied to; null for top-level comments
+
+    private String rootId; // The top-level comment of the thread (its own id when top-level)
+
+    private String path; // Ancestor ids then this id, joined with '/'
+
+    private int depth; // 0 for top-level comments
+
+    private long replyCount; // All replies below this comment, at any depth; kept with $inc
+
     @CreatedDate
     private Instant createdAt;
 
     @LastModifiedDate
     private Instant updatedAt;
+
+    // The path of a comment, which for comments written before threading is just its id
+    public String pathOrId() {
+        return path != null ? path : id;
+    }
+
+    // Ids of the comments this one is nested under, top-level first
+    public List<String> ancestorIds() {
+        String fullPath = pathOrId();
+        int last = fullPath.lastIndexOf('/');
+        return last < 0 ? List.of() : Arrays.asList(fullPath.substring(0, last).split("/"));
+    }
 }
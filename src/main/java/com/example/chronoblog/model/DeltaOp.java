@@ -0,0 +1,34 @@
+package com.example.chronoblog.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One step of a text delta: exactly one of retain, insert or delete is set. Lengths count
+ * UTF-16 code units, the same unit as JavaScript string lengths.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeltaOp {
+
+    private Integer retain; // Keep this many characters of the base text
+    private String insert;  // Insert this text at the current position
+    private Integer delete; // Skip this many characters of the base text
+
+    public static DeltaOp retain(int length) {
+        return new DeltaOp(length, null, null);
+    }
+
+    public static DeltaOp insert(String text) {
+        return new DeltaOp(null, text, null);
+    }
+
+    public static DeltaOp delete(int length) {
+        return new DeltaOp(null, null, length);
+    }
+}
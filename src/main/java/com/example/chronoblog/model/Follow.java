@@ -0,0 +1,38 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One edge of the follow graph: followerId follows followeeId.
+ */
+@Document(collection = "follows")
+@CompoundIndex(name = "follower_followee", def = "{'followerId': 1, 'followeeId': 1}", unique = true)
+@Data
+@NoArgsConstructor
+public class Follow {
+
+    @Id
+    private String id;
+
+    private String followerId; // The user doing the following
+
+    @Indexed
+    private String followeeId; // The user being followed; indexed for fan-out over followers
+
+    @CreatedDate
+    private Instant createdAt;
+
+    public Follow(String followerId, String followeeId) {
+        this.followerId = followerId;
+        this.followeeId = followeeId;
+    }
+}
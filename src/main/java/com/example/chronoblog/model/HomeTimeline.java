@@ -0,0 +1,23 @@
+package com.example.chronoblog.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * A user's precomputed home timeline, written at publish time (fan-out-on-write).
+ * Entries are kept newest first and capped in length by the push that adds them.
+ */
+@Document(collection = "homeTimelines")
+@Data
+public class HomeTimeline {
+
+    @Id
+    private String id; // The owning user's id
+
+    private List<TimelineEntry> entries = new ArrayList<>();
+}
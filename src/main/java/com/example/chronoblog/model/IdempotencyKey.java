@@ -0,0 +1,35 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.example.chronoblog.util.CompressedContentConverter;
+
+import lombok.Data;
+
+/**
+ * A client-supplied Idempotency-Key and the response of the request that first used it.
+ * Inserting the document claims the key; Mongo deletes it once it expires.
+ */
+@Document(collection = "idempotencyKeys")
+@Data
+public class IdempotencyKey {
+
+    @Id
+    private String id; // <principal>:<operation>:<key>
+
+    private String requestHash; // SHA-256 of the operation and request body; a different request may not reuse the key
+
+    // The JSON response body, null while the first request is still running
+    @ValueConverter(CompressedContentConverter.class)
+    private String response;
+
+    private Instant createdAt;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+}
@@ -0,0 +1,30 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * Tracks how far an NDJSON import job has progressed.
+ * Re-running an import with the same job id skips every line up to linesCommitted.
+ */
+@Document(collection = "importCheckpoints")
+@Data
+public class ImportCheckpoint {
+
+    @Id
+    private String id; // The client-supplied import job id
+
+    private long linesCommitted; // Number of input lines whose records have been written
+
+    private long postsImported;
+
+    private long commentsImported;
+
+    @LastModifiedDate
+    private Instant updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.example.chronoblog.util.CompressedContentConverter;
+
+import lombok.Data;
+
+/**
+ * One content revision of a post in the 'postRevisions' collection.
+ *
+ * A revision normally stores only the delta from the previous revision. Revisions that start
+ * a history (the first recorded one, or the first after a gap) and revisions picked by
+ * compaction also carry a full snapshot, so any revision is rebuilt from the nearest
+ * snapshot at or below it plus a bounded number of deltas.
+ *
+ * Autosaved drafts live only here: revisions above the post's own revision are the unsaved
+ * draft, whose latest revision is the draft head. Saving the post moves it past the head.
+ */
+@Document(collection = "postRevisions")
+@CompoundIndex(name = "post_revision", def = "{'postId': 1, 'revision': -1}", unique = true)
+@Data
+public class PostRevision {
+
+    @Id
+    private String id;
+
+    private String postId;
+
+    private long revision; // The post's revision number after this change
+
+    private List<DeltaOp> ops; // Delta from revision - 1; absent when the history starts here
+
+    @ValueConverter(CompressedContentConverter.class)
+    private String snapshot; // Full content at this revision, if this is a snapshot point
+
+    private Integer contentLength; // Length of the content at this revision; absent on older revisions
+
+    // Mirrors snapshot != null for queries; criteria on the converted snapshot field itself would be converted too.
+    private boolean snapshotted;
+
+    private String authorId;
+
+    @Indexed // Lets compaction find the posts edited since its last run
+    private Instant createdAt;
+}
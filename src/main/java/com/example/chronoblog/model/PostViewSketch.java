@@ -0,0 +1,30 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * The cluster-wide unique-viewer sketch of one post, merged from every node's flushes.
+ * Holds only HyperLogLog registers; viewer ids and addresses are never stored.
+ */
+@Document(collection = "postViewSketches")
+@Data
+public class PostViewSketch {
+
+    @Id
+    private String id; // The post id
+
+    private byte[] registers; // HyperLogLog.toBytes()
+
+    private long estimate;
+
+    @Version
+    private Long version; // Guards the read-merge-write against concurrent flushes from other nodes
+
+    private Instant updatedAt;
+}
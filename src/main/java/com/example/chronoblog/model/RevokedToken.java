@@ -0,0 +1,31 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A token revoked before its expiry, shared so every node can deny it.
+ * Mongo deletes the document once the token would have expired anyway.
+ */
+@Document(collection = "revokedTokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    private String id; // The token id (jti)
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    @Indexed
+    private Instant revokedAt; // Nodes poll for entries revoked since their last sync
+}
@@ -0,0 +1,27 @@
+package com.example.chronoblog.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of public published posts carrying a tag, live or archived. Kept up to date by
+ * TagService on every write that changes which posts count, so tag facets never aggregate.
+ */
+@Document(collection = "tagCounts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCount {
+
+    @Id
+    private String tag;
+
+    @Indexed(name = "count_desc", direction = IndexDirection.DESCENDING)
+    private long count;
+}
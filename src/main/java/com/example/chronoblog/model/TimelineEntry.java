@@ -0,0 +1,19 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A reference to a post inside a user's materialized home timeline.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntry {
+    private String postId;
+    private String authorId;
+    private Instant publishAt;
+}
@@ -0,0 +1,30 @@
+package com.example.chronoblog.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * Periodic copy of one node's in-memory trending scores, so a restart does not reset the
+ * ranking and other nodes can merge it into theirs. Scores are relative to referenceTime;
+ * see TrendingServiceImpl for how they decay.
+ */
+@Document(collection = "trendingSnapshots")
+@Data
+public class TrendingSnapshot {
+
+    @Id
+    private String id; // "trending:<nodeId>"
+
+    private String nodeId;
+
+    private Instant referenceTime; // The instant at which a stored score equals its decayed score
+
+    private Map<String, Double> scores; // Post id to score at referenceTime
+
+    private Instant takenAt;
+}
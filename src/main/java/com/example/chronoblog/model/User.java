@@ -36,6 +36,9 @@ public class User {
 
     // --- NEW FIELDS ---
     private AccountStatus accountStatus;
+
+    private long followersCount; // Maintained with $inc on follow/unfollow
+    private long followingCount;
     
     @CreatedDate
     private Instant createdAt; // This will be the "Joined Date"
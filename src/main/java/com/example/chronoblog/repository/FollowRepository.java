@@ -0,0 +1,18 @@
+package com.example.chronoblog.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.chronoblog.model.Follow;
+
+public interface FollowRepository extends MongoRepository<Follow, String> {
+
+    List<Follow> findByFollowerId(String followerId);
+
+    long deleteByFollowerIdAndFolloweeId(String followerId, String followeeId);
+
+    void deleteByFollowerId(String followerId);
+
+    void deleteByFolloweeId(String followeeId);
+}
@@ -0,0 +1,8 @@
+package com.example.chronoblog.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.chronoblog.model.ImportCheckpoint;
+
+public interface ImportCheckpointRepository extends MongoRepository<ImportCheckpoint, String> {
+}
@@ -0,0 +1,8 @@
+package com.example.chronoblog.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.chronoblog.model.PostViewSketch;
+
+public interface PostViewSketchRepository extends MongoRepository<PostViewSketch, String> {
+}
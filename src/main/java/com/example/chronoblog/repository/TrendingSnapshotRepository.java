@@ -0,0 +1,14 @@
+package com.example.chronoblog.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.example.chronoblog.model.TrendingSnapshot;
+
+public interface TrendingSnapshotRepository extends MongoRepository<TrendingSnapshot, String> {
+
+    // Snapshots of every node taken since the given instant
+    List<TrendingSnapshot> findByTakenAtAfter(Instant since);
+}
@@ -0,0 +1,36 @@
+package com.example.chronoblog.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.service.PostContentService;
+
+/**
+ * Compresses large content written before compression existed once the application has started.
+ * Runs in the background so startup is not delayed.
+ *
+ * Re-rendering rewrites the stored content with the current sanitizer, so it only runs here when
+ * chronoblog.content.backfill-on-startup=true; otherwise use POST /api/admin/content/backfill.
+ */
+@Component
+public class ContentBackfillRunner {
+
+    @Autowired
+    private PostContentService postContentService;
+
+    @Value("${chronoblog.content.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            postContentService.backfill();
+        }
+        postContentService.compressContent();
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.chronoblog.scheduler;
 
+import com.example.chronoblog.config.MongoOperationProfiles;
+import com.example.chronoblog.config.OperationProfile;
 import com.example.chronoblog.model.BlogPost;
 import com.example.chronoblog.model.PostStatus;
-import com.example.chronoblog.repository.BlogPostRepository;
+import com.example.chronoblog.service.PostStreamService;
+import com.example.chronoblog.service.TagService;
+import com.example.chronoblog.service.TimelineService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A scheduled task that runs periodically to handle automated processes.
@@ -23,7 +31,16 @@ public class PublishingScheduler {
     private static final Logger log = LoggerFactory.getLogger(PublishingScheduler.class);
 
     @Autowired
-    private BlogPostRepository blogPostRepository;
+    private MongoOperationProfiles mongoProfiles;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostStreamService postStreamService;
+
+    @Autowired
+    private TagService tagService;
 
     /**
      * This method runs at a fixed interval to check for and publish scheduled posts.
@@ -34,7 +51,9 @@ public class PublishingScheduler {
         log.info("Checking for scheduled posts to publish...");
 
         // Find all posts that are 'SCHEDULED' and whose publish time is in the past.
-        List<BlogPost> postsToPublish = blogPostRepository.findByStatusAndPublishAtBefore(PostStatus.SCHEDULED, Instant.now());
+        MongoTemplate scheduler = mongoProfiles.template(OperationProfile.SCHEDULER);
+        List<BlogPost> postsToPublish = scheduler.find(Query.query(
+                Criteria.where("status").is(PostStatus.SCHEDULED).and("publishAt").lt(Instant.now())), BlogPost.class);
 
         if (postsToPublish.isEmpty()) {
             log.info("No posts to publish at this time.");
@@ -46,7 +65,13 @@ public class PublishingScheduler {
         // Loop through each post, update its status, and save it back to the database.
         for (BlogPost post : postsToPublish) {
             post.setStatus(PostStatus.PUBLISHED);
-            blogPostRepository.save(post);
+            tagService.inTransaction(() -> {
+                scheduler.save(post);
+                tagService.recordChange(Set.of(), tagService.countedTags(post));
+                return post;
+            });
+            timelineService.fanOut(post);
+            postStreamService.publish(post);
             log.info("Published post: '{}' with ID: {}", post.getTitle(), post.getId());
         }
     }
@@ -0,0 +1,28 @@
+package com.example.chronoblog.scheduler;
+
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces Boot's readiness indicator, which the readiness probe group reports, so the
+ * instance refuses traffic until {@link WarmupRunner} has finished. The liveness probe is
+ * unaffected.
+ */
+@Component("readinessStateHealthIndicator")
+public class WarmupReadinessIndicator extends ReadinessStateHealthIndicator {
+
+    private final WarmupRunner warmupRunner;
+
+    public WarmupReadinessIndicator(ApplicationAvailability availability, WarmupRunner warmupRunner) {
+        super(availability);
+        this.warmupRunner = warmupRunner;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability availability) {
+        return warmupRunner.isFinished() ? super.getState(availability) : ReadinessState.REFUSING_TRAFFIC;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.chronoblog.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+import com.example.chronoblog.model.User;
+import com.example.chronoblog.repository.BlogPostRepository;
+import com.example.chronoblog.security.AuthenticatedUser;
+import com.example.chronoblog.security.JwtUtil;
+import com.example.chronoblog.security.TokenDenylist;
+import com.example.chronoblog.service.BlogPostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Warms the caches, the Mongo working set and the JIT before the instance takes traffic.
+ *
+ * Starts in the background on ApplicationReadyEvent, so startup and the liveness probe are
+ * never held up. Until warm-up completes, {@link WarmupReadinessIndicator} keeps the readiness
+ * probe at REFUSING_TRAFFIC. Warm-up is bounded by chronoblog.warmup.timeout-ms; past that
+ * the instance goes ready anyway and the remaining work finishes in the background.
+ */
+@Component
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    @Autowired
+    private BlogPostService blogPostService;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chronoblog.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chronoblog.warmup.timeout-ms:30000}")
+    private long timeoutMs;
+
+    // Public feed pages fetched with the same page size and sort the controller defaults to.
+    @Value("${chronoblog.warmup.feed-pages:3}")
+    private int feedPages;
+
+    @Value("${chronoblog.warmup.popular-posts:50}")
+    private int popularPosts;
+
+    @Value("${chronoblog.warmup.popular-window-days:7}")
+    private long popularWindowDays;
+
+    @Value("${chronoblog.warmup.scheduled-window-hours:24}")
+    private long scheduledWindowHours;
+
+    // Iterations of the token and serialization paths; enough for C2 to compile them.
+    @Value("${chronoblog.warmup.iterations:5000}")
+    private int iterations;
+
+    private volatile boolean finished;
+
+    // True once warm-up has completed, failed or timed out, or if it is disabled.
+    public boolean isFinished() {
+        return !enabled || finished;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture.runAsync(this::runSteps, runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            thread.start();
+        }).orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((result, error) -> {
+            if (error == null) {
+                log.info("Warm-up completed in {} ms.", (System.nanoTime() - startNanos) / 1_000_000);
+            } else if (error instanceof TimeoutException) {
+                log.warn("Warm-up did not finish within {} ms; reporting ready anyway.", timeoutMs);
+            } else {
+                log.warn("Warm-up failed; reporting ready anyway.", error);
+            }
+            finished = true;
+        });
+    }
+
+    private void runSteps() {
+        List<BlogPost> fetched = new ArrayList<>();
+        step("feed pages", () -> fetched.addAll(warmFeed()));
+        step("popular posts", () -> fetched.addAll(warmPopularPosts()));
+        step("scheduled posts", this::warmScheduledPosts);
+        step("JWT", this::warmJwt);
+        step("JSON", () -> warmJson(fetched));
+    }
+
+    private void step(String name, Runnable action) {
+        long startNanos = System.nanoTime();
+        try {
+            action.run();
+            log.debug("Warm-up step '{}' took {} ms.", name, (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            // A cold cache is only slower; never let warm-up keep the instance from starting.
+            log.warn("Warm-up step '{}' failed.", name, e);
+        }
+    }
+
+    private List<BlogPost> warmFeed() {
+        List<BlogPost> posts = new ArrayList<>();
+        for (int page = 0; page < feedPages; page++) {
+            Page<BlogPost> result = blogPostService.getAllPublicPosts(
+                    PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "publishAt")));
+            posts.addAll(result.getContent());
+            if (!result.hasNext()) {
+                break;
+            }
+        }
+        return posts;
+    }
+
+    // Loads the most-liked recent posts and their comments through the service so they land in the entity cache.
+    private List<BlogPost> warmPopularPosts() {
+        Query query = Query.query(Criteria.where("status").is(PostStatus.PUBLISHED)
+                        .and("isPrivate").is(false)
+                        .and("publishAt").gte(Instant.now().minus(Duration.ofDays(popularWindowDays))))
+                .with(Sort.by(Sort.Direction.DESC, "likesCount"))
+                .limit(popularPosts);
+        query.fields().include("_id");
+        List<BlogPost> posts = new ArrayList<>();
+        for (BlogPost popular : mongoTemplate.find(query, BlogPost.class)) {
+            posts.add(blogPostService.getPostById(popular.getId()));
+            blogPostService.getComments(popular.getId());
+        }
+        return posts;
+    }
+
+    // Runs the publishing scheduler's query and pulls the posts about to go live into the working set.
+    private void warmScheduledPosts() {
+        Instant now = Instant.now();
+        blogPostRepository.findByStatusAndPublishAtBefore(PostStatus.SCHEDULED, now);
+        Query upcoming = Query.query(Criteria.where("status").is(PostStatus.SCHEDULED)
+                .and("publishAt").gte(now).lt(now.plus(Duration.ofHours(scheduledWindowHours))));
+        mongoTemplate.find(upcoming, BlogPost.class);
+    }
+
+    private void warmJwt() {
+        User user = new User("warmup", "warmup@chronoblog.invalid", "");
+        user.setId("warmup");
+        user.setRoles(Set.of("ROLE_BLOGGER"));
+        AuthenticatedUser principal = new AuthenticatedUser(user);
+        for (int i = 0; i < iterations; i++) {
+            Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(principal));
+            tokenDenylist.isRevoked(jwtUtil.extractTokenId(claims));
+            jwtUtil.isTokenValid(claims, principal);
+        }
+    }
+
+    private void warmJson(List<BlogPost> posts) {
+        if (posts.isEmpty()) {
+            BlogPost sample = new BlogPost();
+            sample.setTitle("warm-up");
+            sample.setContent("<p>warm-up</p>");
+            sample.setStatus(PostStatus.PUBLISHED);
+            sample.setPublishAt(Instant.now());
+            posts = List.of(sample);
+        }
+        try {
+            for (int i = 0; i < iterations; i++) {
+                objectMapper.writeValueAsBytes(posts.get(i % posts.size()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
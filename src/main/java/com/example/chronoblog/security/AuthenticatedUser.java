@@ -0,0 +1,34 @@
+package com.example.chronoblog.security;
+
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.example.chronoblog.model.User;
+
+/**
+ * The security principal for a signed-in user. Spring Security identifies users by email;
+ * this also carries the user id and display username, so callers such as the login endpoint
+ * do not have to look the user up again after authentication.
+ */
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final String userId;
+    private final String displayUsername;
+
+    public AuthenticatedUser(User user) {
+        super(user.getEmail(), user.getPassword(), user.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList()));
+        this.userId = user.getId();
+        this.displayUsername = user.getUsername();
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getDisplayUsername() {
+        return displayUsername;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.chronoblog.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.model.RevokedToken;
+import com.example.chronoblog.repository.RevokedTokenRepository;
+
+/**
+ * Ids of tokens revoked before their expiry, checked on every authenticated request.
+ *
+ * Lookups hit only the in-memory map. Revocations are written through to the revokedTokens
+ * collection, and each node polls it for entries revoked elsewhere, so a logout takes effect
+ * on other nodes within one sync interval. Entries are dropped locally and by the TTL index
+ * in Mongo once the token has expired, so the set never outgrows the tokens revoked within
+ * one token lifetime.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    // Re-reads a window before the last sync so clock skew between nodes cannot hide an entry.
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final Map<String, Long> expiryByTokenId = new ConcurrentHashMap<>(); // epoch millis
+    private volatile Instant lastSync; // null until the first full load
+
+    public boolean isRevoked(String tokenId) {
+        Long expiresAt = expiryByTokenId.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return; // Already unusable
+        }
+        expiryByTokenId.put(tokenId, expiresAt.toEpochMilli());
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, Instant.now()));
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${chronoblog.auth.denylist-sync-ms:5000}")
+    public void sync() {
+        Instant now = Instant.now();
+        Instant since = lastSync == null ? Instant.EPOCH : lastSync.minus(SYNC_OVERLAP);
+        List<RevokedToken> revoked = revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfter(since, now);
+        for (RevokedToken token : revoked) {
+            expiryByTokenId.put(token.getId(), token.getExpiresAt().toEpochMilli());
+        }
+        if (lastSync == null) {
+            log.info("Loaded {} revoked token(s).", revoked.size());
+        }
+        lastSync = now;
+
+        long nowMillis = now.toEpochMilli();
+        expiryByTokenId.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+    }
+
+    public int size() {
+        return expiryByTokenId.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.chronoblog.service;
+
+public interface AvailabilityService {
+
+    // True if no account uses the value; only confirmed against the database on a possible hit
+    boolean isUsernameAvailable(String username);
+    boolean isEmailAvailable(String email);
+
+    // Called after a new account is stored so the filters never report a taken value as free
+    void recordRegistration(String username, String email);
+
+    // Rebuilds both filters from the users collection
+    void rebuild();
+}
@@ -0,0 +1,152 @@
+package com.example.chronoblog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.model.User;
+import com.example.chronoblog.repository.UserRepository;
+import com.example.chronoblog.util.BloomFilter;
+
+/**
+ * Answers username/email availability from in-memory Bloom filters of the values in use.
+ *
+ * A negative from the filter is definitive, so most checks for free values never reach
+ * Mongo; a positive may be a false positive or a since-deleted account and is confirmed
+ * with an exists query. Until the first build completes every check goes to Mongo.
+ *
+ * Filters cannot forget values and their error rate grows as registrations push them past
+ * their sizing, so they are rebuilt from the collection when either drifts too far.
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${chronoblog.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Rebuild once the estimated rate exceeds the target by this factor.
+    @Value("${chronoblog.availability.rebuild-factor:2.0}")
+    private double rebuildFactor;
+
+    // Rebuild at least this often to drop values of deleted accounts.
+    @Value("${chronoblog.availability.max-age-hours:24}")
+    private long maxAgeHours;
+
+    // Filters are sized for the current user count times this, leaving room for sign-ups.
+    @Value("${chronoblog.availability.headroom:1.5}")
+    private double headroom;
+
+    private volatile Filters current;  // null until the first build completes
+    private volatile Filters building; // non-null while a rebuild is streaming users
+
+    private static final class Filters {
+        final BloomFilter usernames;
+        final BloomFilter emails;
+        final Instant builtAt = Instant.now();
+
+        Filters(long expectedInsertions, double falsePositiveRate) {
+            usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        Filters filters = current;
+        if (filters != null && !filters.usernames.mightContain(username)) {
+            return true;
+        }
+        return !Boolean.TRUE.equals(userRepository.existsByUsername(username));
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        Filters filters = current;
+        if (filters != null && !filters.emails.mightContain(email)) {
+            return true;
+        }
+        return !Boolean.TRUE.equals(userRepository.existsByEmail(email));
+    }
+
+    @Override
+    public void recordRegistration(String username, String email) {
+        // Added to a filter under construction as well, in case the rebuild's cursor missed it.
+        Filters filters = current;
+        if (filters != null) {
+            filters.add(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.add(username, email);
+        }
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        long startNanos = System.nanoTime();
+        long userCount = userRepository.count();
+        Filters next = new Filters((long) Math.ceil(userCount * headroom) + 1000, falsePositiveRate);
+        building = next;
+        try {
+            Query query = new Query();
+            query.fields().include("username").include("email");
+            try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+                Iterator<User> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    User user = iterator.next();
+                    next.add(user.getUsername(), user.getEmail());
+                }
+            }
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.info("Built availability filters over {} user(s) in {} ms ({} bits, {} hashes each).",
+                next.usernames.getInsertions(), (System.nanoTime() - startNanos) / 1_000_000,
+                next.usernames.getBitCount(), next.usernames.getHashCount());
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${chronoblog.availability.check-interval-ms:600000}")
+    void rebuildIfStale() {
+        Filters filters = current;
+        if (filters == null) {
+            rebuild();
+            return;
+        }
+        double limit = falsePositiveRate * rebuildFactor;
+        double rate = Math.max(filters.usernames.expectedFalsePositiveRate(), filters.emails.expectedFalsePositiveRate());
+        boolean expired = Duration.between(filters.builtAt, Instant.now()).toHours() >= maxAgeHours;
+        if (rate > limit || expired) {
+            log.info("Rebuilding availability filters (estimated false-positive rate {}, built at {}).",
+                    String.format("%.4f", rate), filters.builtAt);
+            rebuild();
+        }
+    }
+}
@@ -6,19 +6,30 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.example.chronoblog.dto.AuthorDashboardDto;
+import com.example.chronoblog.dto.AutosaveResponse;
 import com.example.chronoblog.dto.CommentRequest;
 import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.dto.DraftDeltaRequest;
+import com.example.chronoblog.dto.PostBatchResponse;
 import com.example.chronoblog.dto.PostRequest;
+import com.example.chronoblog.dto.PostRevisionResponse;
 import com.example.chronoblog.model.BlogPost;
 
 public interface BlogPostService {
 
     Page<BlogPost> getAllPublicPosts(Pageable pageable);
 
+    // With includeArchived, pages past the last live post continue into the cold archive
+    Page<BlogPost> getAllPublicPosts(Pageable pageable, boolean includeArchived);
+
     BlogPost getPostById(String id);
 
     BlogPost getPostById(String id, UserDetails userDetails);
 
+    // Visible posts for many ids at once; missing and forbidden ids are reported, not thrown
+    PostBatchResponse getPostsByIds(List<String> ids, UserDetails userDetails);
+
     Page<BlogPost> getPostsByAuthor(String authorId, Pageable pageable);
 
     // Methods for fetching public, private, and time capsule posts
@@ -26,10 +37,22 @@ public interface BlogPostService {
     Page<BlogPost> getPrivatePostsByAuthor(String authorId, Pageable pageable);
     Page<BlogPost> getTimeCapsulesByAuthor(String authorId, Pageable pageable);
 
+    // Profile plus the first page of each of the lists above, from a single aggregation
+    AuthorDashboardDto getAuthorDashboard(UserDetails userDetails, Pageable pageable);
+
     BlogPost createPost(PostRequest postRequest, UserDetails userDetails);
 
     BlogPost updatePost(String id, PostRequest postRequest, UserDetails userDetails);
 
+    // Records a text delta on top of the draft head; the base revision must be the head's. Saved and rendered only by updatePost
+    AutosaveResponse autosaveDraft(String id, DraftDeltaRequest deltaRequest, UserDetails userDetails);
+
+    // The draft head of the caller's own post: its latest autosave, or its saved content if there is none
+    PostRevisionResponse getDraft(String id, UserDetails userDetails);
+
+    // Content of a past revision of the caller's own post
+    PostRevisionResponse getRevision(String id, long revision, UserDetails userDetails);
+
     void deletePost(String id, UserDetails userDetails);
 
     BlogPost toggleLike(String postId, UserDetails userDetails);
@@ -38,5 +61,11 @@ public interface BlogPostService {
 
     List<CommentResponse> getComments(String postId);
 
+    // Top-level comments newest first, each with its replies nested up to the collapse depth
+    Page<CommentResponse> getCommentThreads(String postId, Pageable pageable);
+
+    // One comment with its replies nested up to the collapse depth below it
+    CommentResponse getCommentThread(String commentId);
+
     void deleteComment(String commentId, UserDetails userDetails);
 }
\ No newline at end of file
@@ -1,29 +1,65 @@
 package com.example.chronoblog.service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.example.chronoblog.cache.ChangeEvent;
+import com.example.chronoblog.cache.ChangeEventBus;
+import com.example.chronoblog.cache.EntityCache;
+import com.example.chronoblog.config.MongoOperationProfiles;
+import com.example.chronoblog.config.OperationProfile;
+import com.example.chronoblog.dto.AuthorDashboardDto;
+import com.example.chronoblog.dto.AutosaveResponse;
 import com.example.chronoblog.dto.CommentRequest;
 import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.dto.DraftDeltaRequest;
+import com.example.chronoblog.dto.PostBatchResponse;
 import com.example.chronoblog.dto.PostRequest;
+import com.example.chronoblog.dto.PostRevisionResponse;
+import com.example.chronoblog.exception.BadRequestException;
+import com.example.chronoblog.exception.ConflictException;
 import com.example.chronoblog.exception.ResourceNotFoundException;
 import com.example.chronoblog.exception.UnauthorizedException;
 import com.example.chronoblog.model.BlogPost;
 import com.example.chronoblog.model.Comment;
+import com.example.chronoblog.model.DeltaOp;
+import com.example.chronoblog.model.PostRevision;
 import com.example.chronoblog.model.PostStatus;
 import com.example.chronoblog.model.User;
 import com.example.chronoblog.repository.BlogPostRepository;
 import com.example.chronoblog.repository.CommentRepository;
 import com.example.chronoblog.repository.UserRepository;
+import com.example.chronoblog.util.TextDelta;
+import com.mongodb.client.result.UpdateResult;
 
 @Service
 public class BlogPostServiceImpl implements BlogPostService {
@@ -37,12 +73,66 @@ public class BlogPostServiceImpl implements BlogPostService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoOperationProfiles mongoProfiles;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostStreamService postStreamService;
+
+    @Autowired
+    private PostContentService postContentService;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Autowired
+    private CommentWriteBehindQueue commentWriteBehindQueue;
+
+    @Autowired
+    private PostArchiveService postArchiveService;
+
+    @Autowired
+    private PostRevisionService postRevisionService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Value("${chronoblog.posts.batch-max-ids:100}")
+    private int batchMaxIds;
+
+    // Levels of replies returned under each comment in threaded views; deeper replies are collapsed.
+    @Value("${chronoblog.comments.collapse-depth:3}")
+    private int collapseDepth;
+
     @Override
     public Page<BlogPost> getAllPublicPosts(Pageable pageable) {
+        return getAllPublicPosts(pageable, false);
+    }
+
+    @Override
+    public Page<BlogPost> getAllPublicPosts(Pageable pageable, boolean includeArchived) {
         Page<BlogPost> posts = blogPostRepository.findByIsPrivateFalseAndStatusIn(
             Arrays.asList(PostStatus.PUBLISHED),
             pageable
         );
+        if (includeArchived) {
+            posts = withArchivedPosts(posts, pageable);
+        }
         
         posts.getContent().forEach(post -> {
             if (post.getAuthor() == null && post.getAuthorId() != null) {
@@ -56,6 +146,23 @@ public class BlogPostServiceImpl implements BlogPostService {
         return posts;
     }
 
+    /**
+     * Appends archived posts after the live ones: the archive is only read once a page reaches
+     * past the last live post, and then continues in the same sort order.
+     */
+    private Page<BlogPost> withArchivedPosts(Page<BlogPost> live, Pageable pageable) {
+        long liveTotal = live.getTotalElements();
+        long total = liveTotal + postArchiveService.countPublic();
+        if (pageable.isUnpaged() || pageable.getOffset() + pageable.getPageSize() <= liveTotal) {
+            return new PageImpl<>(live.getContent(), pageable, total);
+        }
+        List<BlogPost> content = new ArrayList<>(live.getContent());
+        long archiveOffset = Math.max(0, pageable.getOffset() - liveTotal);
+        content.addAll(postArchiveService.findPublic(pageable.getSort(), archiveOffset,
+                pageable.getPageSize() - content.size()));
+        return new PageImpl<>(content, pageable, total);
+    }
+
     @Override
     public Page<BlogPost> getPublicPostsByAuthor(String authorId, Pageable pageable) {
         return blogPostRepository.findByAuthorIdAndIsPrivate(authorId, false, pageable);
@@ -68,7 +175,7 @@ public class BlogPostServiceImpl implements BlogPostService {
 
     @Override
     public BlogPost getPostById(String id) {
-        BlogPost post = blogPostRepository.findById(id)
+        BlogPost post = entityCache.getPost(id, () -> findLiveOrArchived(id).map(this::withAuthorName))
                 .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", id));
         
         if (post.isPrivate()) {
@@ -80,16 +187,99 @@ public class BlogPostServiceImpl implements BlogPostService {
 
     @Override
     public BlogPost getPostById(String id, UserDetails userDetails) {
+        // Served from the node-local cache; the returned post is shared and must not be modified.
+        BlogPost post = entityCache.getPost(id, () -> findLiveOrArchived(id).map(this::withAuthorName))
+                .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", id));
+        checkReadable(post, userDetails);
+        return post;
+    }
+
+    // Archived posts are served read-only from the archive collection.
+    private Optional<BlogPost> findLiveOrArchived(String id) {
+        return blogPostRepository.findById(id).or(() -> postArchiveService.findArchived(id));
+    }
+
+    @Override
+    public PostBatchResponse getPostsByIds(List<String> ids, UserDetails userDetails) {
+        List<String> requested = ids == null ? List.of() : ids.stream()
+                .filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (requested.isEmpty()) {
+            throw new BadRequestException("At least one post id is required.");
+        }
+        if (requested.size() > batchMaxIds) {
+            throw new BadRequestException("At most " + batchMaxIds + " post ids can be fetched at once.");
+        }
+
+        // One $in over the live posts, a second over the archive only for ids not found live.
+        Map<String, BlogPost> found = new HashMap<>();
+        blogPostRepository.findAllById(requested).forEach(post -> found.put(post.getId(), post));
+        if (found.size() < requested.size()) {
+            List<String> notLive = requested.stream().filter(id -> !found.containsKey(id)).collect(Collectors.toList());
+            postArchiveService.findArchived(notLive).forEach(post -> found.put(post.getId(), post));
+        }
+
+        // Same rule as checkReadable; the viewer is resolved at most once.
+        String viewerId = null;
+        if (userDetails != null && found.values().stream().anyMatch(BlogPost::isPrivate)) {
+            viewerId = getUserByEmail(userDetails.getUsername()).getId();
+        }
+        List<BlogPost> posts = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        List<String> forbidden = new ArrayList<>();
+        for (String id : requested) {
+            BlogPost post = found.get(id);
+            if (post == null) {
+                missing.add(id);
+            } else if (post.isPrivate() && (viewerId == null || !viewerId.equals(post.getAuthorId()))) {
+                forbidden.add(id);
+            } else {
+                posts.add(post);
+            }
+        }
+        withAuthorNames(posts);
+        return new PostBatchResponse(posts, missing, forbidden);
+    }
+
+    // Batched form of withAuthorName: one $in for the authors of all posts lacking a name.
+    private void withAuthorNames(List<BlogPost> posts) {
+        Set<String> authorIds = posts.stream()
+                .filter(post -> post.getAuthor() == null && post.getAuthorId() != null)
+                .map(BlogPost::getAuthorId)
+                .collect(Collectors.toSet());
+        if (authorIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> usernames = new HashMap<>();
+        userRepository.findAllById(authorIds).forEach(user -> usernames.put(user.getId(), user.getUsername()));
+        posts.stream()
+                .filter(post -> post.getAuthor() == null && post.getAuthorId() != null)
+                .forEach(post -> post.setAuthor(usernames.get(post.getAuthorId())));
+    }
+
+    /**
+     * Loads a fresh, uncached copy of the post for a write path that modifies and saves it.
+     * An archived post is restored to blogPosts first, since it is evidently active again.
+     */
+    private BlogPost getPostForUpdate(String id, UserDetails userDetails) {
         BlogPost post = blogPostRepository.findById(id)
+                .or(() -> postArchiveService.restore(id))
+                .map(this::withAuthorName)
                 .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", id));
-        
+        checkReadable(post, userDetails);
+        return post;
+    }
+
+    private BlogPost withAuthorName(BlogPost post) {
         if (post.getAuthor() == null && post.getAuthorId() != null) {
             User author = userRepository.findById(post.getAuthorId()).orElse(null);
             if (author != null) {
                 post.setAuthor(author.getUsername());
             }
         }
-        
+        return post;
+    }
+
+    private void checkReadable(BlogPost post, UserDetails userDetails) {
         if (post.isPrivate()) {
             if (userDetails == null) {
                 throw new UnauthorizedException("This post is private and not accessible.");
@@ -99,8 +289,6 @@ public class BlogPostServiceImpl implements BlogPostService {
                 throw new UnauthorizedException("This post is private and not accessible.");
             }
         }
-        
-        return post;
     }
 
     @Override
@@ -118,6 +306,44 @@ public class BlogPostServiceImpl implements BlogPostService {
         return blogPostRepository.findByAuthorIdAndStatus(authorId, PostStatus.SCHEDULED, pageable);
     }
 
+    @Override
+    public AuthorDashboardDto getAuthorDashboard(UserDetails userDetails, Pageable pageable) {
+        User user = getUserByEmail(userDetails.getUsername());
+
+        // Each dashboard list is one facet branch, paired with a count branch for its total.
+        Criteria myPosts = Criteria.where("status").in(PostStatus.PUBLISHED, PostStatus.DRAFT);
+        Criteria publicPosts = Criteria.where("isPrivate").is(false);
+        Criteria privatePosts = Criteria.where("isPrivate").is(true);
+        Criteria timeCapsules = Criteria.where("status").is(PostStatus.SCHEDULED);
+        Criteria published = Criteria.where("status").is(PostStatus.PUBLISHED);
+
+        FacetOperation facets = Aggregation.facet(pageStages(myPosts, pageable)).as("posts")
+                .and(countStages(myPosts)).as("postsCount")
+                .and(pageStages(publicPosts, pageable)).as("publicPosts")
+                .and(countStages(publicPosts)).as("publicPostsCount")
+                .and(pageStages(privatePosts, pageable)).as("privatePosts")
+                .and(countStages(privatePosts)).as("privatePostsCount")
+                .and(pageStages(timeCapsules, pageable)).as("timeCapsules")
+                .and(countStages(timeCapsules)).as("timeCapsulesCount")
+                .and(countStages(published)).as("publishedCount");
+
+        Document result = mongoTemplate.aggregate(
+                Aggregation.newAggregation(BlogPost.class,
+                        Aggregation.match(Criteria.where("authorId").is(user.getId())),
+                        facets),
+                Document.class).getUniqueMappedResult();
+
+        AuthorDashboardDto dashboard = new AuthorDashboardDto();
+        dashboard.setPosts(toPage(result, "posts", user, pageable));
+        dashboard.setPublicPosts(toPage(result, "publicPosts", user, pageable));
+        dashboard.setPrivatePosts(toPage(result, "privatePosts", user, pageable));
+        dashboard.setTimeCapsules(toPage(result, "timeCapsules", user, pageable));
+        dashboard.setProfile(userService.toProfileDto(user,
+                facetCount(result, "publishedCount"),
+                dashboard.getTimeCapsules().getTotalElements()));
+        return dashboard;
+    }
+
     @Override
     public BlogPost createPost(PostRequest postRequest, UserDetails userDetails) {
         User user = getUserByEmail(userDetails.getUsername());
@@ -125,12 +351,14 @@ public class BlogPostServiceImpl implements BlogPostService {
         BlogPost blogPost = new BlogPost();
         blogPost.setTitle(postRequest.getTitle());
         blogPost.setContent(postRequest.getContent());
+        postContentService.render(blogPost);
         blogPost.setAuthorId(user.getId());
         blogPost.setAuthor(user.getUsername());
         blogPost.setPrivate(postRequest.isPrivate());
         blogPost.setLikesCount(0);
         blogPost.setCommentsCount(0);
         blogPost.setLikedBy(new HashSet<>());
+        blogPost.setTags(postRequest.getTags() != null ? tagService.normalize(postRequest.getTags()) : new HashSet<>());
         // blogPost.setFileUrl(postRequest.getFileUrl()); // REMOVED
 
         // Handle status logic
@@ -162,47 +390,249 @@ public class BlogPostServiceImpl implements BlogPostService {
             }
         }
 
-        return blogPostRepository.save(blogPost);
+        BlogPost savedPost = tagService.inTransaction(() -> {
+            BlogPost saved = mongoProfiles.template(OperationProfile.POSTS).save(blogPost);
+            tagService.recordChange(Set.of(), tagService.countedTags(saved));
+            return saved;
+        });
+        // Time capsules are fanned out by PublishingScheduler when they open.
+        timelineService.fanOut(savedPost);
+        postStreamService.publish(savedPost);
+        return savedPost;
     }
 
     @Override
     public BlogPost updatePost(String id, PostRequest postRequest, UserDetails userDetails) {
         User user = getUserByEmail(userDetails.getUsername());
-        BlogPost blogPost = getPostById(id, userDetails);
 
-        if (!blogPost.getAuthorId().equals(user.getId())) {
+        // Only the editable fields are read and likedBy is never loaded; the counters are never written here.
+        Query editable = Query.query(Criteria.where("_id").is(id));
+        editable.fields().include("title", "content", "isPrivate", "status", "publishAt", "authorId", "revision", "tags");
+        MongoTemplate posts = mongoProfiles.template(OperationProfile.POSTS);
+        // Archived posts come back on edit, as they do for likes, comments and deletes.
+        BlogPost current = Optional.ofNullable(posts.findOne(editable, BlogPost.class))
+                .or(() -> postArchiveService.restore(id).map(restored -> posts.findOne(editable, BlogPost.class)))
+                .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", id));
+        if (!user.getId().equals(current.getAuthorId())) {
             throw new UnauthorizedException("You do not have permission to update this post.");
         }
 
-        blogPost.setTitle(postRequest.getTitle());
-        blogPost.setContent(postRequest.getContent());
-        blogPost.setPrivate(postRequest.isPrivate());
-        // blogPost.setFileUrl(postRequest.getFileUrl()); // REMOVED
+        // An autosaved draft is saved on top of its head, not of the post's last saved revision.
+        long headRevision = headRevision(id, current.getRevision());
+        boolean draftPending = headRevision > current.getRevision();
+        long expectedRevision = postRequest.getRevision() != null ? postRequest.getRevision() : headRevision;
+        if (expectedRevision != headRevision) {
+            throw new ConflictException("This post has been modified since revision " + expectedRevision + ". Reload and try again.");
+        }
+
+        Update update = new Update();
+        if (!Objects.equals(postRequest.getTitle(), current.getTitle())) {
+            update.set("title", postRequest.getTitle());
+        }
+        if (postRequest.isPrivate() != current.isPrivate()) {
+            update.set("isPrivate", postRequest.isPrivate());
+        }
+        if (postRequest.getTags() != null) {
+            Set<String> tags = tagService.normalize(postRequest.getTags());
+            if (!tags.equals(current.getTags() != null ? current.getTags() : Set.of())) {
+                update.set("tags", tags);
+            }
+        }
 
-        // Handle status updates
+        BlogPost rendered = new BlogPost();
+        rendered.setContent(postRequest.getContent());
+        postContentService.render(rendered);
+        boolean contentChanged = !Objects.equals(rendered.getContent(), current.getContent());
+        if (contentChanged) {
+            update.set("content", rendered.getContent())
+                    .set("excerpt", rendered.getExcerpt())
+                    .set("wordCount", rendered.getWordCount())
+                    .set("readingTimeMinutes", rendered.getReadingTimeMinutes())
+                    .set("coverImageUrl", rendered.getCoverImageUrl())
+                    .set("renderVersion", rendered.getRenderVersion());
+        }
+
+        // Handle status updates. Re-saving an already published post keeps its original publishAt.
+        PostStatus status = current.getStatus();
+        Instant publishAt = current.getPublishAt();
         if (postRequest.getStatus() != null) {
-            blogPost.setStatus(PostStatus.valueOf(postRequest.getStatus()));
-            if (PostStatus.valueOf(postRequest.getStatus()) == PostStatus.SCHEDULED && postRequest.getPublishAt() != null) {
-                blogPost.setPublishAt(Instant.parse(postRequest.getPublishAt()));
-            } else if (PostStatus.valueOf(postRequest.getStatus()) == PostStatus.PUBLISHED) {
-                blogPost.setPublishAt(Instant.now());
-            } else if (PostStatus.valueOf(postRequest.getStatus()) == PostStatus.DRAFT) {
-                blogPost.setPublishAt(null);
+            PostStatus requested = PostStatus.valueOf(postRequest.getStatus());
+            if (requested == PostStatus.SCHEDULED && postRequest.getPublishAt() != null) {
+                publishAt = Instant.parse(postRequest.getPublishAt());
+            } else if (requested == PostStatus.PUBLISHED && status != PostStatus.PUBLISHED) {
+                publishAt = Instant.now();
+            } else if (requested == PostStatus.DRAFT) {
+                publishAt = null;
+            }
+            status = requested;
+        } else if (postRequest.getPublishAt() != null) {
+            Instant requestedPublishAt = Instant.parse(postRequest.getPublishAt());
+            if (requestedPublishAt.isAfter(Instant.now())) {
+                status = PostStatus.SCHEDULED;
+                publishAt = requestedPublishAt;
+            } else if (status != PostStatus.PUBLISHED) {
+                status = PostStatus.PUBLISHED;
+                publishAt = Instant.now();
             }
+        }
+        if (status != current.getStatus()) {
+            update.set("status", status);
+        }
+        if (!Objects.equals(publishAt, current.getPublishAt())) {
+            update.set("publishAt", publishAt);
+        }
+
+        if (update.getUpdateObject().isEmpty() && !draftPending) {
+            return getPostForUpdate(id, userDetails);
+        }
+
+        // Applied only if nobody else has edited the post since it was read.
+        Query unchanged = Query.query(new Criteria().andOperator(
+                Criteria.where("_id").is(id), Criteria.where("authorId").is(user.getId()),
+                PostCriteria.revisionIs(current.getRevision())));
+        unchanged.fields().exclude("likedBy");
+        if (draftPending) {
+            update.set("revision", headRevision + 1);
         } else {
-            if (postRequest.getPublishAt() != null) {
-                Instant publishAt = Instant.parse(postRequest.getPublishAt());
-                if (publishAt.isAfter(Instant.now())) {
-                    blogPost.setStatus(PostStatus.SCHEDULED);
-                    blogPost.setPublishAt(publishAt);
-                } else {
-                    blogPost.setStatus(PostStatus.PUBLISHED);
-                    blogPost.setPublishAt(Instant.now());
-                }
+            update.inc("revision", 1);
+        }
+        update.set("updatedAt", Instant.now());
+
+        // Tag counts follow the post's tags, status and visibility in the same transaction.
+        BlogPost updatedPost = tagService.inTransaction(() -> {
+            BlogPost modified = mongoProfiles.template(OperationProfile.POSTS).findAndModify(unchanged, update,
+                    FindAndModifyOptions.options().returnNew(true), BlogPost.class);
+            if (modified != null) {
+                tagService.recordChange(tagService.countedTags(current), tagService.countedTags(modified));
             }
+            return modified;
+        });
+        if (updatedPost == null) {
+            throw new ConflictException("This post was modified concurrently. Reload and try again.");
+        }
+        withAuthorName(updatedPost);
+        // findAndModify bypasses the save listeners, so announce the change explicitly.
+        changeEventBus.publish(new ChangeEvent("blogPosts", id, ChangeEvent.Operation.UPSERT, null));
+        // Saving over an autosaved draft always records, so the history has no gap above the head.
+        if (contentChanged || draftPending) {
+            postRevisionService.record(id, user.getId(), current.getRevision(), current.getContent(),
+                    updatedPost.getRevision(), updatedPost.getContent());
+        }
+
+        if (updatedPost.isPrivate() || updatedPost.getStatus() != PostStatus.PUBLISHED) {
+            trendingService.remove(updatedPost.getId());
+        } else if (current.getStatus() != PostStatus.PUBLISHED || current.isPrivate()) {
+            timelineService.fanOut(updatedPost);
+            postStreamService.publish(updatedPost);
+        }
+        return updatedPost;
+    }
+
+    @Override
+    public AutosaveResponse autosaveDraft(String id, DraftDeltaRequest deltaRequest, UserDetails userDetails) {
+        User user = getUserByEmail(userDetails.getUsername());
+        if (deltaRequest.getBaseRevision() == null || deltaRequest.getOps() == null) {
+            throw new BadRequestException("baseRevision and ops are required.");
+        }
+
+        Query editable = Query.query(Criteria.where("_id").is(id));
+        editable.fields().include("status", "authorId", "revision");
+        MongoTemplate posts = mongoProfiles.template(OperationProfile.POSTS);
+        // Archived posts come back on edit, as they do for likes, comments and deletes.
+        BlogPost current = Optional.ofNullable(posts.findOne(editable, BlogPost.class))
+                .or(() -> postArchiveService.restore(id).map(restored -> posts.findOne(editable, BlogPost.class)))
+                .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", id));
+        if (!user.getId().equals(current.getAuthorId())) {
+            throw new UnauthorizedException("You do not have permission to update this post.");
+        }
+        if (current.getStatus() != PostStatus.DRAFT) {
+            throw new BadRequestException("Only drafts are autosaved; save scheduled and published posts with PUT.");
+        }
+        // The draft head is the latest autosave, or the post itself when nothing newer was autosaved.
+        PostRevision head = postRevisionService.findLatest(id);
+        long headRevision = head != null ? Math.max(head.getRevision(), current.getRevision()) : current.getRevision();
+        long baseRevision = deltaRequest.getBaseRevision();
+        if (baseRevision != headRevision) {
+            throw new ConflictException("This draft is at revision " + headRevision + ", not " + baseRevision
+                    + ". Reload it before saving again.");
+        }
+
+        List<DeltaOp> ops = deltaRequest.getOps();
+        if (ops.stream().allMatch(op -> op != null && op.getRetain() != null && op.getInsert() == null && op.getDelete() == null)) {
+            return new AutosaveResponse(baseRevision, Instant.now());
+        }
+        // The head's length is enough to check the delta; its content is only needed when the
+        // history does not hold the head, and the autosave has to start with a snapshot.
+        String baseContent = null;
+        int baseLength;
+        if (head != null && head.getRevision() == headRevision && head.getContentLength() != null) {
+            baseLength = head.getContentLength();
+        } else {
+            baseContent = headRevision > current.getRevision()
+                    ? postRevisionService.getRevision(id, headRevision).getContent()
+                    : savedContent(id);
+            baseLength = baseContent.length();
+        }
+        int length;
+        try {
+            length = TextDelta.length(baseLength, ops);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid delta: " + e.getMessage());
+        }
+
+        // Only the revision history is written; the post keeps its last saved content and
+        // render artifacts until the draft is saved or published with PUT.
+        if (!postRevisionService.recordDraft(id, user.getId(), baseRevision, ops, length, baseContent)) {
+            throw new ConflictException("This draft was modified concurrently. Reload it before saving again.");
+        }
+        return new AutosaveResponse(baseRevision + 1, Instant.now());
+    }
+
+    @Override
+    public PostRevisionResponse getDraft(String id, UserDetails userDetails) {
+        User user = getUserByEmail(userDetails.getUsername());
+        Query saved = Query.query(Criteria.where("_id").is(id));
+        saved.fields().include("authorId", "revision", "content", "updatedAt");
+        BlogPost post = mongoTemplate.findOne(saved, BlogPost.class);
+        if (post == null) {
+            throw new ResourceNotFoundException("BlogPost", "id", id);
+        }
+        if (!user.getId().equals(post.getAuthorId())) {
+            throw new UnauthorizedException("Only the author can view the draft of this post.");
         }
+        long head = headRevision(id, post.getRevision());
+        if (head > post.getRevision()) {
+            return postRevisionService.getRevision(id, head);
+        }
+        return new PostRevisionResponse(id, post.getRevision(), post.getContent(), post.getUpdatedAt());
+    }
+
+    // The latest autosaved revision, or the post's own revision when nothing newer was autosaved.
+    private long headRevision(String id, long savedRevision) {
+        PostRevision head = postRevisionService.findLatest(id);
+        return head != null ? Math.max(head.getRevision(), savedRevision) : savedRevision;
+    }
+
+    private String savedContent(String id) {
+        Query content = Query.query(Criteria.where("_id").is(id));
+        content.fields().include("content");
+        BlogPost post = mongoProfiles.template(OperationProfile.POSTS).findOne(content, BlogPost.class);
+        return post != null && post.getContent() != null ? post.getContent() : "";
+    }
 
-        return blogPostRepository.save(blogPost);
+    @Override
+    public PostRevisionResponse getRevision(String id, long revision, UserDetails userDetails) {
+        User user = getUserByEmail(userDetails.getUsername());
+        Query owner = Query.query(Criteria.where("_id").is(id));
+        owner.fields().include("authorId");
+        BlogPost post = mongoTemplate.findOne(owner, BlogPost.class);
+        if (post == null) {
+            throw new ResourceNotFoundException("BlogPost", "id", id);
+        }
+        if (!user.getId().equals(post.getAuthorId())) {
+            throw new UnauthorizedException("Only the author can view the revision history of this post.");
+        }
+        return postRevisionService.getRevision(id, revision);
     }
 
     // ... (rest of the methods are unchanged)
@@ -210,62 +640,144 @@ public class BlogPostServiceImpl implements BlogPostService {
     @Override
     public void deletePost(String id, UserDetails userDetails) {
         User user = getUserByEmail(userDetails.getUsername());
-        BlogPost blogPost = getPostById(id, userDetails);
+        BlogPost blogPost = getPostForUpdate(id, userDetails);
 
         if (!blogPost.getAuthorId().equals(user.getId())) {
             throw new UnauthorizedException("You do not have permission to delete this post.");
         }
 
         commentRepository.deleteByPostId(id);
+        postRevisionService.deleteByPostId(id);
         
-        blogPostRepository.delete(blogPost);
+        tagService.inTransaction(() -> {
+            mongoProfiles.template(OperationProfile.POSTS).remove(blogPost);
+            tagService.recordChange(tagService.countedTags(blogPost), Set.of());
+            return null;
+        });
+        trendingService.remove(id);
     }
 
     @Override
     public BlogPost toggleLike(String postId, UserDetails userDetails) {
         User user = getUserByEmail(userDetails.getUsername());
-        BlogPost blogPost = getPostById(postId, userDetails);
+        BlogPost blogPost = getPostForUpdate(postId, userDetails);
 
         if (blogPost.getLikedBy() == null) {
             blogPost.setLikedBy(new HashSet<>());
         }
 
-        if (blogPost.getLikedBy().contains(user.getUsername())) {
-            blogPost.getLikedBy().remove(user.getUsername());
-            blogPost.setLikesCount(blogPost.getLikesCount() - 1);
+        // Only likedBy and likesCount are written, and only if the like is not already in the
+        // requested state, so a concurrent toggle or edit is never overwritten or counted twice.
+        String username = user.getUsername();
+        boolean liked = !blogPost.getLikedBy().contains(username);
+        Query query = Query.query(Criteria.where("_id").is(postId));
+        Update update = new Update();
+        if (liked) {
+            query.addCriteria(Criteria.where("likedBy").ne(username));
+            update.addToSet("likedBy", username).inc("likesCount", 1);
         } else {
-            blogPost.getLikedBy().add(user.getUsername());
-            blogPost.setLikesCount(blogPost.getLikesCount() + 1);
+            query.addCriteria(Criteria.where("likedBy").is(username));
+            update.pull("likedBy", username).inc("likesCount", -1);
+        }
+        UpdateResult result = mongoProfiles.template(OperationProfile.LIKES).updateFirst(query, update, BlogPost.class);
+        if (result.getModifiedCount() == 0) {
+            return getPostForUpdate(postId, userDetails);
         }
 
-        return blogPostRepository.save(blogPost);
+        if (liked) {
+            blogPost.getLikedBy().add(username);
+            blogPost.setLikesCount(blogPost.getLikesCount() + 1);
+        } else {
+            blogPost.getLikedBy().remove(username);
+            blogPost.setLikesCount(blogPost.getLikesCount() - 1);
+        }
+        changeEventBus.publish(new ChangeEvent("blogPosts", postId, ChangeEvent.Operation.UPSERT, null));
+        trendingService.recordLike(blogPost, liked);
+        return blogPost;
     }
 
     @Override
     public CommentResponse addComment(String postId, CommentRequest commentRequest, UserDetails userDetails) {
         User user = getUserByEmail(userDetails.getUsername());
-        BlogPost blogPost = getPostById(postId, userDetails);
-
-        Comment comment = new Comment();
-        comment.setPostId(postId);
-        comment.setAuthorId(user.getId());
-        comment.setAuthorUsername(user.getUsername());
-        comment.setContent(commentRequest.getContent());
 
-        Comment savedComment = commentRepository.save(comment);
+        if (commentWriteBehindQueue.isEnabled()) {
+            // Accepted now, written by the queue's next flush, which then increments the counters.
+            BlogPost blogPost = getPostById(postId, userDetails);
+            if (blogPost.getArchivedAt() != null) {
+                // The queue's counter updates target blogPosts, so bring the post back first.
+                postArchiveService.restore(postId);
+            }
+            Comment comment = newComment(postId, commentRequest, user);
+            Instant now = Instant.now();
+            comment.setCreatedAt(now);
+            comment.setUpdatedAt(now);
+            commentWriteBehindQueue.enqueue(comment);
+            trendingService.recordComment(blogPost);
+            return convertToCommentResponse(comment);
+        }
+        BlogPost blogPost = getPostForUpdate(postId, userDetails);
+
+        Comment comment = newComment(postId, commentRequest, user);
+        MongoTemplate comments = mongoProfiles.template(OperationProfile.COMMENTS);
+        Comment savedComment = comments.insert(comment);
+        if (savedComment.getParentId() != null) {
+            comments.updateMulti(Query.query(Criteria.where("_id").in(savedComment.ancestorIds())),
+                    new Update().inc("replyCount", 1), Comment.class);
+        }
 
-        blogPost.setCommentsCount(blogPost.getCommentsCount() + 1);
-        blogPostRepository.save(blogPost);
+        incrementCommentsCount(comments, postId, 1);
+        trendingService.recordComment(blogPost);
 
         return convertToCommentResponse(savedComment);
     }
 
     @Override
     public List<CommentResponse> getComments(String postId) {
-        List<Comment> comments = commentRepository.findByPostIdOrderByCreatedAtDesc(postId);
-        return comments.stream()
+        return entityCache.getComments(postId, () -> commentRepository.findByPostIdOrderByCreatedAtDesc(postId).stream()
                 .map(this::convertToCommentResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public Page<CommentResponse> getCommentThreads(String postId, Pageable pageable) {
+        // Top-level comments newest first; comments from before threading have no parentId either.
+        Query topLevel = Query.query(Criteria.where("postId").is(postId).and("parentId").is(null));
+        MongoTemplate comments = mongoProfiles.template(OperationProfile.COMMENTS);
+        long total = comments.count(topLevel, Comment.class);
+        List<Comment> roots = comments.find(Query.of(topLevel).with(pageable)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt")), Comment.class);
+        if (roots.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        // All shown replies of every thread on the page in one query, already in display order.
+        List<String> rootIds = roots.stream().map(Comment::getId).collect(Collectors.toList());
+        Query replies = Query.query(Criteria.where("rootId").in(rootIds).and("depth").gte(1).lte(collapseDepth))
+                .with(Sort.by(Sort.Direction.ASC, "rootId", "path"));
+        List<Comment> thread = new ArrayList<>(roots);
+        thread.addAll(comments.find(replies, Comment.class));
+
+        List<CommentResponse> tree = buildTree(thread, rootIds, collapseDepth);
+        return new PageImpl<>(tree, pageable, total);
+    }
+
+    @Override
+    public CommentResponse getCommentThread(String commentId) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", commentId));
+        int maxDepth = comment.getDepth() + collapseDepth;
+
+        // The comment and its subtree are one contiguous range of the (postId, path) index.
+        String path = comment.pathOrId();
+        Query subtree = Query.query(Criteria.where("postId").is(comment.getPostId())
+                        .and("path").gte(path).lt(path + "0")
+                        .and("depth").lte(maxDepth))
+                .with(Sort.by(Sort.Direction.ASC, "path"));
+        List<Comment> thread = new ArrayList<>(mongoProfiles.template(OperationProfile.COMMENTS).find(subtree, Comment.class));
+        if (comment.getPath() == null) {
+            thread.add(0, comment); // Written before threading, so outside the path range
+        }
+        return buildTree(thread, List.of(commentId), collapseDepth).get(0);
     }
 
     @Override
@@ -278,19 +790,146 @@ public class BlogPostServiceImpl implements BlogPostService {
             throw new UnauthorizedException("You do not have permission to delete this comment.");
         }
 
-        BlogPost blogPost = blogPostRepository.findById(comment.getPostId())
-                .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", comment.getPostId()));
-        blogPost.setCommentsCount(blogPost.getCommentsCount() - 1);
-        blogPostRepository.save(blogPost);
+        // Bring an archived post back before touching its comments, so a missing post fails the
+        // request while the comments are still intact. No read check: authors may always remove
+        // their own comments, even from a post that has since gone private.
+        String postId = comment.getPostId();
+        BlogPost blogPost = blogPostRepository.findById(postId)
+                .or(() -> postArchiveService.restore(postId))
+                .orElseThrow(() -> new ResourceNotFoundException("BlogPost", "id", postId));
+
+        // Replies go with the comment they answer.
+        String path = comment.pathOrId();
+        Query subtree = Query.query(Criteria.where("postId").is(comment.getPostId()).orOperator(
+                Criteria.where("_id").is(commentId),
+                Criteria.where("path").gte(path).lt(path + "0")));
+        MongoTemplate comments = mongoProfiles.template(OperationProfile.COMMENTS);
+        long removed = comments.remove(subtree, Comment.class).getDeletedCount();
+
+        List<String> ancestorIds = comment.ancestorIds();
+        if (!ancestorIds.isEmpty() && removed > 0) {
+            comments.updateMulti(Query.query(Criteria.where("_id").in(ancestorIds)),
+                    new Update().inc("replyCount", -removed), Comment.class);
+        }
 
-        commentRepository.delete(comment);
+        if (removed > 0) {
+            incrementCommentsCount(comments, blogPost.getId(), -removed);
+        }
     }
-    
+
+    // An $inc rather than a save of the whole post, so a concurrent edit or like is not overwritten;
+    // the same update the write-behind queue applies per flush.
+    private void incrementCommentsCount(MongoTemplate comments, String postId, long delta) {
+        comments.updateFirst(Query.query(Criteria.where("_id").is(postId)), new Update().inc("commentsCount", delta), BlogPost.class);
+        changeEventBus.publish(new ChangeEvent("blogPosts", postId, ChangeEvent.Operation.UPSERT, null));
+    }
+
+    /**
+     * Builds a comment with a fresh id and, for replies, its place in the parent's thread.
+     */
+    private Comment newComment(String postId, CommentRequest commentRequest, User user) {
+        Comment comment = new Comment();
+        comment.setId(new ObjectId().toHexString());
+        comment.setPostId(postId);
+        comment.setAuthorId(user.getId());
+        comment.setAuthorUsername(user.getUsername());
+        comment.setContent(commentRequest.getContent());
+
+        String parentId = commentRequest.getParentId();
+        if (parentId == null || parentId.isBlank()) {
+            comment.setRootId(comment.getId());
+            comment.setPath(comment.getId());
+            return comment;
+        }
+        // The parent may itself still be waiting in the write-behind queue.
+        Comment parent = commentRepository.findById(parentId)
+                .or(() -> commentWriteBehindQueue.findUnwritten(parentId))
+                .orElseThrow(() -> new ResourceNotFoundException("Comment", "id", parentId));
+        if (!postId.equals(parent.getPostId())) {
+            throw new BadRequestException("A reply must be on the same post as the comment it answers.");
+        }
+        comment.setParentId(parent.getId());
+        comment.setRootId(parent.getRootId() != null ? parent.getRootId() : parent.getId());
+        comment.setPath(parent.pathOrId() + "/" + comment.getId());
+        comment.setDepth(parent.getDepth() + 1);
+        return comment;
+    }
+
+    /**
+     * Nests comments sorted by path under the given tops. Replies more than maxDepth levels
+     * below a top are left out; their parent keeps replies null and shows replyCount instead.
+     */
+    private List<CommentResponse> buildTree(List<Comment> comments, List<String> topIds, int maxDepth) {
+        Map<String, CommentResponse> byId = new LinkedHashMap<>();
+        Map<String, Integer> levelById = new LinkedHashMap<>();
+        for (String topId : topIds) {
+            levelById.put(topId, 0);
+        }
+        for (Comment comment : comments) {
+            CommentResponse response = convertToCommentResponse(comment);
+            Integer level = levelById.get(comment.getId());
+            if (level == null) {
+                CommentResponse parent = byId.get(comment.getParentId());
+                Integer parentLevel = levelById.get(comment.getParentId());
+                if (parent == null || parent.getReplies() == null || parentLevel == null) {
+                    continue; // Below the cut-off or orphaned by a concurrent delete
+                }
+                level = parentLevel + 1;
+                levelById.put(comment.getId(), level);
+                parent.getReplies().add(response);
+            }
+            if (level < maxDepth) {
+                response.setReplies(new ArrayList<>());
+            }
+            byId.put(comment.getId(), response);
+        }
+        return topIds.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return entityCache.getUserByEmail(email, () -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
     }
 
+    private AggregationOperation[] pageStages(Criteria criteria, Pageable pageable) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(criteria));
+        if (pageable.getSort().isSorted()) {
+            stages.add(Aggregation.sort(pageable.getSort()));
+        }
+        if (pageable.getOffset() > 0) {
+            stages.add(Aggregation.skip(pageable.getOffset()));
+        }
+        stages.add(Aggregation.limit(pageable.getPageSize()));
+        return stages.toArray(new AggregationOperation[0]);
+    }
+
+    private AggregationOperation[] countStages(Criteria criteria) {
+        return new AggregationOperation[] { Aggregation.match(criteria), Aggregation.count().as("count") };
+    }
+
+    private Page<BlogPost> toPage(Document result, String facet, User author, Pageable pageable) {
+        List<BlogPost> posts = new ArrayList<>();
+        if (result != null) {
+            for (Document document : result.getList(facet, Document.class, List.of())) {
+                BlogPost post = mongoTemplate.getConverter().read(BlogPost.class, document);
+                if (post.getAuthor() == null) {
+                    post.setAuthor(author.getUsername());
+                }
+                posts.add(post);
+            }
+        }
+        return new PageImpl<>(posts, pageable, facetCount(result, facet + "Count"));
+    }
+
+    private long facetCount(Document result, String facet) {
+        if (result == null) {
+            return 0;
+        }
+        List<Document> counts = result.getList(facet, Document.class, List.of());
+        return counts.isEmpty() ? 0 : ((Number) counts.get(0).get("count")).longValue();
+    }
+
     private CommentResponse convertToCommentResponse(Comment comment) {
         CommentResponse response = new CommentResponse();
         response.setId(comment.getId());
@@ -299,6 +938,9 @@ public class BlogPostServiceImpl implements BlogPostService {
         response.setAuthorUsername(comment.getAuthorUsername());
         response.setContent(comment.getContent());
         response.setCreatedAt(comment.getCreatedAt());
+        response.setParentId(comment.getParentId());
+        response.setDepth(comment.getDepth());
+        response.setReplyCount(comment.getReplyCount());
         return response;
     }
 }
\ No newline at end of file
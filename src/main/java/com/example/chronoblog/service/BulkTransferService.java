@@ -0,0 +1,25 @@
+package com.example.chronoblog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.example.chronoblog.dto.ImportResult;
+
+public interface BulkTransferService {
+
+    /**
+     * Streams every post, archived ones included (optionally only those of one author), followed by its comments
+     * to the given output as NDJSON. Posts and comments are read through Mongo cursors
+     * ordered by post id and merged, so heap usage does not depend on the size of the
+     * export and comments are not queried post by post.
+     */
+    void exportPosts(String authorId, OutputStream out) throws IOException;
+
+    /**
+     * Ingests NDJSON produced by {@link #exportPosts} in batched inserts.
+     * Progress is checkpointed under the given job id after every batch so an
+     * interrupted import can be re-run with the same id and continue where it stopped.
+     */
+    ImportResult importPosts(String jobId, InputStream in) throws IOException;
+}
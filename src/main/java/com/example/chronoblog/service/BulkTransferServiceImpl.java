@@ -0,0 +1,217 @@
+package com.example.chronoblog.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.dto.ExportRecord;
+import com.example.chronoblog.dto.ImportResult;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.Comment;
+import com.example.chronoblog.model.ImportCheckpoint;
+import com.example.chronoblog.repository.ImportCheckpointRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+
+@Service
+public class BulkTransferServiceImpl implements BulkTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTransferServiceImpl.class);
+
+    // Mongo's error code for a duplicate key, raised when a resumed import re-inserts
+    // documents from a batch that was only partially written before the interruption.
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chronoblog.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void exportPosts(String authorId, OutputStream out) throws IOException {
+        Query postQuery = authorId != null
+                ? Query.query(Criteria.where("authorId").is(authorId))
+                : new Query();
+        postQuery.with(Sort.by(Sort.Direction.ASC, "_id")).cursorBatchSize(batchSize);
+
+        // Writes block once the client stops reading, which in turn stops the cursors
+        // from fetching further batches - the servlet output stream is the backpressure.
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        // Live posts, then archived ones; archived posts keep archivedAt, which routes them back on import.
+        for (String collection : List.of(mongoTemplate.getCollectionName(BlogPost.class), PostArchiveService.ARCHIVE_COLLECTION)) {
+            exportCollection(collection, postQuery, authorId == null, buffered);
+        }
+        buffered.flush();
+    }
+
+    private void exportCollection(String collection, Query postQuery, boolean allPosts, OutputStream buffered) throws IOException {
+        try (Stream<BlogPost> posts = mongoTemplate.stream(postQuery, BlogPost.class, collection)) {
+            Iterator<BlogPost> postIterator = posts.iterator();
+            if (allPosts) {
+                // Every comment is exported, so one pass over the (postId, path) index keeps pace with the posts.
+                try (Stream<Comment> comments = mongoTemplate.stream(commentsByPost(new Query()), Comment.class)) {
+                    writeMerged(postIterator, comments.iterator(), buffered);
+                }
+            } else {
+                // One comments query per batch of the author's posts.
+                List<BlogPost> batch = new ArrayList<>(batchSize);
+                while (postIterator.hasNext()) {
+                    batch.add(postIterator.next());
+                    if (batch.size() == batchSize || !postIterator.hasNext()) {
+                        List<String> postIds = batch.stream().map(BlogPost::getId).collect(Collectors.toList());
+                        Query commentQuery = commentsByPost(Query.query(Criteria.where("postId").in(postIds)));
+                        try (Stream<Comment> comments = mongoTemplate.stream(commentQuery, Comment.class)) {
+                            writeMerged(batch.iterator(), comments.iterator(), buffered);
+                        }
+                        batch.clear();
+                    }
+                }
+            }
+        }
+    }
+
+    private Query commentsByPost(Query query) {
+        return query.with(Sort.by(Sort.Direction.ASC, "postId", "path")).cursorBatchSize(batchSize);
+    }
+
+    /**
+     * Writes each post followed by its comments. Both inputs are ordered by post id: post ids
+     * are ObjectIds, whose hex strings sort the same way, so comments are matched up by walking
+     * the two in step. Comments of posts not in the export are skipped.
+     */
+    private void writeMerged(Iterator<BlogPost> posts, Iterator<Comment> comments, OutputStream out) throws IOException {
+        Comment comment = comments.hasNext() ? comments.next() : null;
+        while (posts.hasNext()) {
+            BlogPost post = posts.next();
+            writeLine(out, ExportRecord.of(post));
+            while (comment != null && (comment.getPostId() == null || comment.getPostId().compareTo(post.getId()) <= 0)) {
+                if (post.getId().equals(comment.getPostId())) {
+                    writeLine(out, ExportRecord.of(comment));
+                }
+                comment = comments.hasNext() ? comments.next() : null;
+            }
+        }
+    }
+
+    @Override
+    public ImportResult importPosts(String jobId, InputStream in) throws IOException {
+        ImportCheckpoint checkpoint = importCheckpointRepository.findById(jobId).orElseGet(() -> {
+            ImportCheckpoint fresh = new ImportCheckpoint();
+            fresh.setId(jobId);
+            return fresh;
+        });
+
+        ImportResult result = new ImportResult();
+        result.setJobId(jobId);
+        result.setResumedFromLine(checkpoint.getLinesCommitted());
+
+        List<BlogPost> postBatch = new ArrayList<>(batchSize);
+        List<BlogPost> archivedBatch = new ArrayList<>();
+        List<Comment> commentBatch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber <= checkpoint.getLinesCommitted() || line.isBlank()) {
+                continue;
+            }
+
+            ExportRecord record = objectMapper.readValue(line, ExportRecord.class);
+            if (ExportRecord.TYPE_POST.equals(record.getType()) && record.getPost() != null) {
+                (record.getPost().getArchivedAt() != null ? archivedBatch : postBatch).add(record.getPost());
+            } else if (ExportRecord.TYPE_COMMENT.equals(record.getType()) && record.getComment() != null) {
+                commentBatch.add(record.getComment());
+            } else {
+                throw new IllegalArgumentException("Unrecognised record on line " + lineNumber);
+            }
+
+            if (postBatch.size() + archivedBatch.size() + commentBatch.size() >= batchSize) {
+                flushBatch(checkpoint, postBatch, archivedBatch, commentBatch, lineNumber);
+            }
+        }
+        flushBatch(checkpoint, postBatch, archivedBatch, commentBatch, lineNumber);
+
+        result.setLinesCommitted(checkpoint.getLinesCommitted());
+        result.setPostsImported(checkpoint.getPostsImported());
+        result.setCommentsImported(checkpoint.getCommentsImported());
+        return result;
+    }
+
+    private void writeLine(OutputStream out, ExportRecord record) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(record));
+        out.write('\n');
+    }
+
+    /**
+     * Inserts the buffered posts, live and archived, before their comments, then records the
+     * checkpoint. The checkpoint is only advanced after all inserts succeed.
+     */
+    private void flushBatch(ImportCheckpoint checkpoint, List<BlogPost> posts, List<BlogPost> archivedPosts,
+                            List<Comment> comments, long lineNumber) {
+        if (lineNumber <= checkpoint.getLinesCommitted()) {
+            return;
+        }
+        int postsInserted = insertBatch(posts, BlogPost.class, mongoTemplate.getCollectionName(BlogPost.class))
+                + insertBatch(archivedPosts, BlogPost.class, PostArchiveService.ARCHIVE_COLLECTION);
+        checkpoint.setPostsImported(checkpoint.getPostsImported() + postsInserted);
+        checkpoint.setCommentsImported(checkpoint.getCommentsImported()
+                + insertBatch(comments, Comment.class, mongoTemplate.getCollectionName(Comment.class)));
+        checkpoint.setLinesCommitted(lineNumber);
+        importCheckpointRepository.save(checkpoint);
+        log.info("Import job {} committed through line {}.", checkpoint.getId(), lineNumber);
+
+        posts.clear();
+        archivedPosts.clear();
+        comments.clear();
+    }
+
+    private <T> int insertBatch(List<T> batch, Class<T> entityClass, String collection) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            return mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass, collection)
+                    .insert(batch)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            // Every failure was a document already written by an earlier, interrupted run.
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
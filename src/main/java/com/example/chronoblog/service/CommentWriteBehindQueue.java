@@ -0,0 +1,296 @@
+package com.example.chronoblog.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.cache.ChangeEvent;
+import com.example.chronoblog.cache.ChangeEventBus;
+import com.example.chronoblog.config.MongoOperationProfiles;
+import com.example.chronoblog.config.OperationProfile;
+import com.example.chronoblog.exception.ServiceUnavailableException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.Comment;
+import com.mongodb.bulk.BulkWriteError;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional write-behind path for addComment, enabled with
+ * chronoblog.comments.write-behind.enabled=true.
+ *
+ * Comments arrive with server-assigned ids and are accepted into a bounded queue, then
+ * written in batches: one unordered insert for the comments, then one $inc of commentsCount
+ * per affected post and one $inc of replyCount per affected ancestor. A batch whose insert
+ * succeeded is not inserted again when only its counter update is retried; any drift that
+ * is left is repaired by the counter reconciliation job. A batch that keeps failing is given
+ * up after max-retry-ms and
+ * its comments are moved to the commentsDeadLetter collection, as is any comment the server
+ * rejects outright. When the queue is full, callers wait briefly and are then turned away
+ * with 503. The queue is drained on graceful shutdown, retrying for up to shutdown-timeout-ms;
+ * whatever is still unwritten then is dead-lettered, or logged if that fails too.
+ */
+@Component
+public class CommentWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final long SHUTDOWN_RETRY_DELAY_MS = 200;
+
+    static final String DEAD_LETTER_COLLECTION = "commentsDeadLetter";
+
+    @Autowired
+    private MongoOperationProfiles mongoProfiles;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Value("${chronoblog.comments.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${chronoblog.comments.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${chronoblog.comments.write-behind.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    // How long a failing batch is retried before its comments are dead-lettered.
+    @Value("${chronoblog.comments.write-behind.max-retry-ms:30000}")
+    private long maxRetryMs;
+
+    // How long shutdown keeps retrying the flush before giving up on what is left.
+    @Value("${chronoblog.comments.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final BlockingQueue<Comment> queue;
+
+    // A batch that failed to write; retried before anything new is drained.
+    private final List<Comment> pending = new ArrayList<>();
+
+    // The part of the pending batch already inserted, or null until the insert has succeeded.
+    private List<Comment> pendingWritten;
+
+    // When the pending batch first failed, or 0 while it has not.
+    private long firstFailureAt;
+
+    // Every accepted comment by id until its batch has been written or dead-lettered, so
+    // replies to it can be accepted before it reaches the database.
+    private final Map<String, Comment> unwritten = new ConcurrentHashMap<>();
+
+    public CommentWriteBehindQueue(@Value("${chronoblog.comments.write-behind.capacity:10000}") int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(Comment comment) {
+        // Indexed first, so a flush that picks the comment up right away cannot leave it behind.
+        unwritten.put(comment.getId(), comment);
+        boolean accepted = false;
+        try {
+            accepted = queue.offer(comment, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while queueing comment.");
+        } finally {
+            if (!accepted) {
+                unwritten.remove(comment.getId());
+            }
+        }
+        if (!accepted) {
+            throw new ServiceUnavailableException("Too many comments are being posted right now. Please try again shortly.");
+        }
+    }
+
+    // An accepted comment that may not have been written yet.
+    public Optional<Comment> findUnwritten(String id) {
+        return Optional.ofNullable(unwritten.get(id));
+    }
+
+    @Scheduled(fixedDelayString = "${chronoblog.comments.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        while (flushBatch()) {
+            // Keep going while full batches are waiting.
+        }
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Flushing {} queued comment(s) before shutdown.", queue.size() + pending.size());
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        flush();
+        while (!isDrained() && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(SHUTDOWN_RETRY_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush();
+        }
+        if (!isDrained()) {
+            abandonUnwritten();
+        }
+    }
+
+    private synchronized boolean isDrained() {
+        return pending.isEmpty() && queue.isEmpty();
+    }
+
+    // Called when shutdown runs out of time: nothing will retry these comments after this.
+    private synchronized void abandonUnwritten() {
+        if (pendingWritten != null) {
+            for (Comment comment : pendingWritten) {
+                log.error("Comment {} on post {} was stored but not counted; the reconciliation job will fix its counters.",
+                        comment.getId(), comment.getPostId());
+            }
+        }
+        List<Comment> unstored = new ArrayList<>(pendingWritten == null ? pending : List.of());
+        queue.drainTo(unstored);
+        log.error("Shutdown flush did not finish within {} ms; dead-lettering {} unwritten comment(s).",
+                shutdownTimeoutMs, unstored.size());
+        if (!unstored.isEmpty()) {
+            deadLetter(unstored);
+        }
+        pending.forEach(comment -> unwritten.remove(comment.getId()));
+        unstored.forEach(comment -> unwritten.remove(comment.getId()));
+        pending.clear();
+        pendingWritten = null;
+        firstFailureAt = 0;
+    }
+
+    /**
+     * Writes one batch. Returns true if a full batch was written and more may be waiting.
+     */
+    private synchronized boolean flushBatch() {
+        if (pending.isEmpty()) {
+            queue.drainTo(pending, batchSize);
+        }
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        try {
+            if (pendingWritten == null) {
+                pendingWritten = insertComments(pending);
+            }
+            incrementCommentCounts(pendingWritten);
+        } catch (RuntimeException e) {
+            long now = System.currentTimeMillis();
+            if (firstFailureAt == 0) {
+                firstFailureAt = now;
+            }
+            if (now - firstFailureAt < maxRetryMs) {
+                log.error("Failed to flush {} queued comment(s); will retry.", pending.size(), e);
+                return false;
+            }
+            log.error("Giving up on {} queued comment(s) after {} ms of failed flushes.", pending.size(), now - firstFailureAt, e);
+            // Inserted comments are stored; only their counters are left to the reconciliation job.
+            if (pendingWritten == null) {
+                deadLetter(pending);
+            }
+        }
+        boolean full = pending.size() == batchSize;
+        pending.forEach(comment -> unwritten.remove(comment.getId()));
+        pending.clear();
+        pendingWritten = null;
+        firstFailureAt = 0;
+        return full;
+    }
+
+    /**
+     * Inserts the batch and returns the comments that are now stored. Comments already written
+     * by an earlier attempt count as stored; ones the server rejects are dead-lettered.
+     */
+    private List<Comment> insertComments(List<Comment> comments) {
+        try {
+            mongoProfiles.template(OperationProfile.COMMENTS).bulkOps(BulkMode.UNORDERED, Comment.class).insert(comments).execute();
+            return comments;
+        } catch (BulkOperationException e) {
+            List<Comment> rejected = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    rejected.add(comments.get(error.getIndex()));
+                }
+            }
+            if (rejected.isEmpty()) {
+                return comments;
+            }
+            log.error("Mongo rejected {} queued comment(s): {}", rejected.size(), e.getErrors().get(0).getMessage());
+            deadLetter(rejected);
+            List<Comment> written = new ArrayList<>(comments);
+            written.removeAll(rejected);
+            return written;
+        }
+    }
+
+    private void incrementCommentCounts(List<Comment> comments) {
+        Map<String, Integer> countsByPost = new HashMap<>();
+        for (Comment comment : comments) {
+            countsByPost.merge(comment.getPostId(), 1, Integer::sum);
+        }
+        if (countsByPost.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoProfiles.template(OperationProfile.COMMENTS).bulkOps(BulkMode.UNORDERED, BlogPost.class);
+        countsByPost.forEach((postId, count) ->
+                ops.updateOne(Query.query(Criteria.where("_id").is(postId)), new Update().inc("commentsCount", count)));
+        ops.execute();
+
+        // Replies also count towards every comment above them in their thread.
+        Map<String, Integer> repliesByAncestor = new HashMap<>();
+        for (Comment comment : comments) {
+            comment.ancestorIds().forEach(id -> repliesByAncestor.merge(id, 1, Integer::sum));
+        }
+        if (!repliesByAncestor.isEmpty()) {
+            BulkOperations replyOps = mongoProfiles.template(OperationProfile.COMMENTS).bulkOps(BulkMode.UNORDERED, Comment.class);
+            repliesByAncestor.forEach((commentId, count) ->
+                    replyOps.updateOne(Query.query(Criteria.where("_id").is(commentId)), new Update().inc("replyCount", count)));
+            replyOps.execute();
+        }
+
+        countsByPost.keySet().forEach(postId ->
+                changeEventBus.publish(new ChangeEvent("blogPosts", postId, ChangeEvent.Operation.UPSERT, null)));
+    }
+
+    // Keeps the comments for manual recovery; if even that fails they are only logged.
+    private void deadLetter(List<Comment> comments) {
+        try {
+            mongoProfiles.template(OperationProfile.COMMENTS).insert(comments, DEAD_LETTER_COLLECTION);
+        } catch (RuntimeException e) {
+            for (Comment comment : comments) {
+                log.error("Dropped queued comment {} on post {} by {}: {}", comment.getId(), comment.getPostId(),
+                        comment.getAuthorId(), comment.getContent());
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.chronoblog.service;
+
+import com.example.chronoblog.dto.ReconciliationReport;
+
+public interface CounterReconciliationService {
+
+    /**
+     * Recomputes likesCount and commentsCount for every post and corrects the ones that
+     * have drifted. Throws ConflictException if a run is already in progress on this node.
+     */
+    ReconciliationReport reconcile();
+}
@@ -0,0 +1,195 @@
+package com.example.chronoblog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.cache.ChangeEvent;
+import com.example.chronoblog.cache.ChangeEventBus;
+import com.example.chronoblog.dto.ReconciliationReport;
+import com.example.chronoblog.exception.ConflictException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.Comment;
+
+/**
+ * Repairs drift in the denormalized post counters.
+ *
+ * Posts are walked in _id order, one batch per aggregation: the batch's true like counts
+ * come from $size of likedBy and its comment counts from a $lookup into comments, which
+ * uses the (postId, path) index. Only mismatched posts are written, in one unordered bulk
+ * write per batch, and each update is conditional on the counter still holding the value
+ * that was read, so a like or comment landing mid-run is never overwritten.
+ *
+ * A post with a comment newer than chronoblog.reconcile.comment-settle-ms keeps its
+ * commentsCount: the write-behind queue inserts comments before it increments the post's
+ * counter, and correcting in between would count those comments twice.
+ */
+@Service
+public class CounterReconciliationServiceImpl implements CounterReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciliationServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    @Value("${chronoblog.reconcile.batch-size:500}")
+    private int batchSize;
+
+    // Upper bound on posts scanned per second, to keep the job's load on Mongo predictable.
+    @Value("${chronoblog.reconcile.max-posts-per-second:2000}")
+    private int maxPostsPerSecond;
+
+    @Value("${chronoblog.reconcile.comment-settle-ms:60000}")
+    private long commentSettleMs;
+
+    @Value("${chronoblog.reconcile.enabled:true}")
+    private boolean scheduledRunEnabled;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${chronoblog.reconcile.cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        if (!scheduledRunEnabled || running.get()) {
+            return;
+        }
+        reconcile();
+    }
+
+    @Override
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Counter reconciliation is already running.");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport run() {
+        ReconciliationReport report = new ReconciliationReport();
+        report.setStartedAt(Instant.now());
+        long startNanos = System.nanoTime();
+        String posts = mongoTemplate.getCollectionName(BlogPost.class);
+        String comments = mongoTemplate.getCollectionName(Comment.class);
+
+        Object lastId = null;
+        while (true) {
+            List<Document> batch = mongoTemplate.aggregate(batchAggregation(lastId, comments), posts, Document.class)
+                    .getMappedResults();
+            if (batch.isEmpty()) {
+                break;
+            }
+            report.setPostsScanned(report.getPostsScanned() + batch.size());
+            Instant settledBefore = Instant.now().minusMillis(commentSettleMs);
+            lastId = batch.get(batch.size() - 1).get("_id");
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, BlogPost.class);
+            List<String> corrected = new ArrayList<>();
+            for (Document row : batch) {
+                boolean changed = false;
+                Object likes = row.get("likesCount");
+                int actualLikes = row.getInteger("actualLikes");
+                if (!isCount(likes, actualLikes)) {
+                    report.setLikesMismatched(report.getLikesMismatched() + 1);
+                    ops.updateOne(Query.query(Criteria.where("_id").is(row.get("_id")).and("likesCount").is(likes)),
+                            new Update().set("likesCount", actualLikes));
+                    changed = true;
+                }
+                Object commentCount = row.get("commentsCount");
+                int actualComments = row.getInteger("actualComments");
+                Date newestComment = row.getDate("newestComment");
+                boolean settled = newestComment == null || newestComment.toInstant().isBefore(settledBefore);
+                if (settled && !isCount(commentCount, actualComments)) {
+                    report.setCommentsMismatched(report.getCommentsMismatched() + 1);
+                    ops.updateOne(Query.query(Criteria.where("_id").is(row.get("_id")).and("commentsCount").is(commentCount)),
+                            new Update().set("commentsCount", actualComments));
+                    changed = true;
+                }
+                if (changed) {
+                    corrected.add(row.get("_id").toString());
+                }
+            }
+            if (!corrected.isEmpty()) {
+                report.setPostsCorrected(report.getPostsCorrected() + ops.execute().getModifiedCount());
+                // Bulk writes bypass the save listeners, so announce the changes explicitly.
+                corrected.forEach(id -> changeEventBus.publish(new ChangeEvent("blogPosts", id, ChangeEvent.Operation.UPSERT, null)));
+            }
+            throttle(report.getPostsScanned(), startNanos);
+        }
+
+        report.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Counter reconciliation scanned {} post(s) in {} ms: {} like count(s) and {} comment count(s) "
+                        + "mismatched, {} update(s) applied.",
+                report.getPostsScanned(), report.getDurationMs(), report.getLikesMismatched(),
+                report.getCommentsMismatched(), report.getPostsCorrected());
+        return report;
+    }
+
+    private Aggregation batchAggregation(Object lastId, String comments) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (lastId != null) {
+            stages.add(Aggregation.match(Criteria.where("_id").gt(lastId)));
+        }
+        stages.add(Aggregation.sort(Sort.by(Sort.Direction.ASC, "_id")));
+        stages.add(Aggregation.limit(batchSize));
+        // comments.postId holds the post id as a string, so join on the stringified _id.
+        stages.add(context -> new Document("$lookup", new Document("from", comments)
+                .append("let", new Document("postId", new Document("$toString", "$_id")))
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("$expr", new Document("$eq", List.of("$postId", "$$postId")))),
+                        new Document("$group", new Document("_id", null)
+                                .append("n", new Document("$sum", 1))
+                                .append("newest", new Document("$max", "$createdAt")))))
+                .append("as", "commentTotals")));
+        stages.add(context -> new Document("$project", new Document("likesCount", 1)
+                .append("commentsCount", 1)
+                .append("actualLikes", new Document("$size", new Document("$ifNull", List.of("$likedBy", List.of()))))
+                .append("actualComments", new Document("$ifNull", List.of(
+                        new Document("$arrayElemAt", List.of("$commentTotals.n", 0)), 0)))
+                .append("newestComment", new Document("$arrayElemAt", List.of("$commentTotals.newest", 0)))));
+        return Aggregation.newAggregation(stages);
+    }
+
+    // A missing counter only matches a true count of zero.
+    private static boolean isCount(Object stored, int actual) {
+        return stored instanceof Number number ? number.longValue() == actual : actual == 0 && Objects.isNull(stored);
+    }
+
+    private void throttle(long scanned, long startNanos) {
+        long dueMillis = scanned * 1000 / Math.max(1, maxPostsPerSecond);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        if (dueMillis > elapsedMillis) {
+            try {
+                Thread.sleep(dueMillis - elapsedMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Counter reconciliation interrupted", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.chronoblog.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    // Request header carrying the client's key
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Runs the action once per (principal, operation, key). The first request claims the key with an
+     * atomic insert and stores the action's result; a retry with the same key and request gets
+     * that result back without running the action again. A retry while the first request is still
+     * running, or a different request with the same key, is rejected with 409. A null key runs the
+     * action as is.
+     */
+    <T> T execute(String key, String principal, String operation, Object request, Class<T> responseType, Supplier<T> action);
+}
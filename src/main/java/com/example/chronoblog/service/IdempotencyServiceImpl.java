@@ -0,0 +1,146 @@
+package com.example.chronoblog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.exception.BadRequestException;
+import com.example.chronoblog.exception.ConflictException;
+import com.example.chronoblog.model.IdempotencyKey;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Stores each key's response as the JSON the client received, so a replay is byte-for-byte the
+ * original answer even if the post or comment has changed since. The _id is the claim: of any
+ * number of concurrent requests with the same key exactly one insert succeeds and runs the
+ * action, and the others see its document.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chronoblog.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // A claim still without a response after this long belongs to a request that died; it may be taken over.
+    @Value("${chronoblog.idempotency.pending-timeout-ms:60000}")
+    private long pendingTimeoutMs;
+
+    @Override
+    public <T> T execute(String key, String principal, String operation, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH || !key.chars().allMatch(c -> c > 0x20 && c < 0x7f)) {
+            throw new BadRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " printable ASCII characters.");
+        }
+        String id = principal + ":" + operation + ":" + key;
+        String requestHash = hash(operation, request);
+
+        // A second pass only follows a claim that disappeared or was abandoned while we looked at it.
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Instant now = Instant.now();
+            IdempotencyKey claim = new IdempotencyKey();
+            claim.setId(id);
+            claim.setRequestHash(requestHash);
+            claim.setCreatedAt(now);
+            claim.setExpiresAt(now.plus(Duration.ofHours(ttlHours)));
+            try {
+                mongoTemplate.insert(claim);
+            } catch (DuplicateKeyException e) {
+                IdempotencyKey existing = mongoTemplate.findById(id, IdempotencyKey.class);
+                if (existing == null) {
+                    continue; // Expired or released since the insert; claim it again
+                }
+                if (!requestHash.equals(existing.getRequestHash())) {
+                    throw new ConflictException("This " + HEADER + " was already used for a different request.");
+                }
+                if (existing.getResponse() != null) {
+                    return read(existing.getResponse(), responseType);
+                }
+                if (existing.getCreatedAt().isAfter(now.minusMillis(pendingTimeoutMs))) {
+                    throw new ConflictException("A request with this " + HEADER + " is still being processed. Retry shortly.");
+                }
+                release(existing);
+                continue;
+            }
+            return runClaimed(claim, responseType, action);
+        }
+        throw new ConflictException("A request with this " + HEADER + " is still being processed. Retry shortly.");
+    }
+
+    private <T> T runClaimed(IdempotencyKey claim, Class<T> responseType, Supplier<T> action) {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            // Nothing was done on the key's behalf, so a retry may run the action again.
+            release(claim);
+            throw e;
+        }
+        try {
+            String response = objectMapper.writeValueAsString(result);
+            mongoTemplate.updateFirst(ownedBy(claim), new Update().set("response", response), IdempotencyKey.class);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // The work is done; a retry after the pending timeout would repeat it, but failing now would too.
+            log.warn("Could not store the response for idempotency key {}.", claim.getId(), e);
+        }
+        return result;
+    }
+
+    // Removes the claim unless it has meanwhile been completed or taken over.
+    private void release(IdempotencyKey claim) {
+        mongoTemplate.remove(ownedBy(claim).addCriteria(Criteria.where("response").is(null)), IdempotencyKey.class);
+    }
+
+    private static Query ownedBy(IdempotencyKey claim) {
+        return Query.query(Criteria.where("_id").is(claim.getId()).and("createdAt").is(claim.getCreatedAt()));
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not a valid " + responseType.getSimpleName(), e);
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.chronoblog.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Sort;
+
+import com.example.chronoblog.model.BlogPost;
+
+public interface PostArchiveService {
+
+    // Archived posts keep the BlogPost shape, content compressed by the same converter
+    String ARCHIVE_COLLECTION = "archivedPosts";
+
+    /**
+     * Moves, in batches, published posts that are old and inactive enough from blogPosts to
+     * the archive collection. Returns the number of posts moved.
+     */
+    long archive();
+
+    // Read-only lookup of an archived post; the post stays archived
+    Optional<BlogPost> findArchived(String id);
+
+    List<BlogPost> findArchived(List<String> ids);
+
+    /**
+     * Moves an archived post back into blogPosts, for write paths such as likes, comments and
+     * edits. Returns the restored post, or empty if the post is not archived.
+     */
+    Optional<BlogPost> restore(String id);
+
+    long countPublic();
+
+    // Public published archived posts in the given order, for feeds that page past the live posts
+    List<BlogPost> findPublic(Sort sort, long skip, int limit);
+
+    void deleteByAuthorId(String authorId);
+}
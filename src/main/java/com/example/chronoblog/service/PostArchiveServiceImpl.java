@@ -0,0 +1,195 @@
+package com.example.chronoblog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.exception.ConflictException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+
+/**
+ * Keeps old, quiet posts out of blogPosts so they stop competing with the live feed for cache.
+ *
+ * Each batch is copied to the archive first and only then removed from blogPosts, guarded by
+ * the revision and counters that were copied, so a post liked, commented on or edited during
+ * the move stays live and its archive copy is dropped. A crash between the two steps leaves
+ * a post in both collections, where readers see the live copy and the next run finishes the move.
+ */
+@Service
+public class PostArchiveServiceImpl implements PostArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostArchiveServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${chronoblog.archive.enabled:true}")
+    private boolean scheduledRunEnabled;
+
+    // Posts published longer ago than this are candidates...
+    @Value("${chronoblog.archive.min-age-days:365}")
+    private long minAgeDays;
+
+    // ...if nothing (edit, like or synchronous comment) has saved them for this long...
+    @Value("${chronoblog.archive.inactive-days:90}")
+    private long inactiveDays;
+
+    // ...and they have fewer likes than this.
+    @Value("${chronoblog.archive.max-likes:10}")
+    private int maxLikes;
+
+    @Value("${chronoblog.archive.batch-size:200}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(ARCHIVE_COLLECTION);
+        indexOps.createIndex(new Index().on("status", Sort.Direction.ASC).on("isPrivate", Sort.Direction.ASC)
+                .on("publishAt", Sort.Direction.DESC).named("public_feed"));
+        indexOps.createIndex(new Index().on("authorId", Sort.Direction.ASC).named("author"));
+    }
+
+    @Scheduled(cron = "${chronoblog.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        if (!scheduledRunEnabled || running.get()) {
+            return;
+        }
+        archive();
+    }
+
+    @Override
+    public long archive() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Post archiving is already running.");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long run() {
+        Instant now = Instant.now();
+        Criteria cold = Criteria.where("status").is(PostStatus.PUBLISHED)
+                .and("publishAt").lt(now.minus(Duration.ofDays(minAgeDays)))
+                .and("updatedAt").lt(now.minus(Duration.ofDays(inactiveDays)))
+                .and("likesCount").lt(maxLikes);
+
+        long moved = 0;
+        String lastId = null;
+        while (true) {
+            Query query = Query.query(lastId != null ? new Criteria().andOperator(cold, Criteria.where("_id").gt(lastId)) : cold)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(batchSize);
+            List<BlogPost> batch = mongoTemplate.find(query, BlogPost.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+
+            // Written as mapped documents so the copy keeps its timestamps instead of being re-audited.
+            BulkOperations copies = mongoTemplate.bulkOps(BulkMode.UNORDERED, ARCHIVE_COLLECTION);
+            BulkOperations removals = mongoTemplate.bulkOps(BulkMode.UNORDERED, BlogPost.class);
+            for (BlogPost post : batch) {
+                post.setArchivedAt(now);
+                Document document = new Document();
+                mongoTemplate.getConverter().write(post, document);
+                copies.replaceOne(byId(post.getId()), document, FindAndReplaceOptions.options().upsert());
+                // Old posts may lack these fields altogether, so each check also accepts a missing 0.
+                removals.remove(Query.query(new Criteria().andOperator(Criteria.where("_id").is(post.getId()),
+                        PostCriteria.revisionIs(post.getRevision()),
+                        PostCriteria.numberIs("likesCount", post.getLikesCount()),
+                        PostCriteria.numberIs("commentsCount", post.getCommentsCount()))));
+            }
+            copies.execute();
+            moved += removals.execute().getDeletedCount();
+
+            // Posts that changed since they were read were not removed; drop their archive copies.
+            List<String> ids = batch.stream().map(BlogPost::getId).collect(Collectors.toList());
+            Query stillLive = Query.query(Criteria.where("_id").in(ids));
+            stillLive.fields().include("_id");
+            List<String> live = mongoTemplate.find(stillLive, BlogPost.class).stream()
+                    .map(BlogPost::getId).collect(Collectors.toList());
+            if (!live.isEmpty()) {
+                mongoTemplate.remove(Query.query(Criteria.where("_id").in(live)), BlogPost.class, ARCHIVE_COLLECTION);
+            }
+        }
+        if (moved > 0) {
+            log.info("Archived {} post(s).", moved);
+        }
+        return moved;
+    }
+
+    @Override
+    public Optional<BlogPost> findArchived(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, BlogPost.class, ARCHIVE_COLLECTION));
+    }
+
+    @Override
+    public List<BlogPost> findArchived(List<String> ids) {
+        return mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), BlogPost.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public Optional<BlogPost> restore(String id) {
+        BlogPost post = mongoTemplate.findById(id, BlogPost.class, ARCHIVE_COLLECTION);
+        if (post == null) {
+            return Optional.empty();
+        }
+        post.setArchivedAt(null);
+        BlogPost restored = mongoTemplate.save(post);
+        mongoTemplate.remove(byId(id), BlogPost.class, ARCHIVE_COLLECTION);
+        log.debug("Restored archived post {}.", id);
+        return Optional.of(restored);
+    }
+
+    @Override
+    public long countPublic() {
+        return mongoTemplate.count(Query.query(publicPublished()), BlogPost.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public List<BlogPost> findPublic(Sort sort, long skip, int limit) {
+        Query query = Query.query(publicPublished()).with(sort).skip(skip).limit(limit);
+        return mongoTemplate.find(query, BlogPost.class, ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public void deleteByAuthorId(String authorId) {
+        mongoTemplate.remove(Query.query(Criteria.where("authorId").is(authorId)), BlogPost.class, ARCHIVE_COLLECTION);
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static Criteria publicPublished() {
+        return Criteria.where("status").is(PostStatus.PUBLISHED).and("isPrivate").is(false);
+    }
+}
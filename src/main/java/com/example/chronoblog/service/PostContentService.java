@@ -0,0 +1,27 @@
+package com.example.chronoblog.service;
+
+import com.example.chronoblog.model.BlogPost;
+
+public interface PostContentService {
+
+    // Bump whenever sanitization or artifact rules change so existing posts are re-rendered
+    int RENDER_VERSION = 1;
+
+    /**
+     * Sanitizes the post's HTML content in place and fills in its excerpt, word count,
+     * reading time and cover image. Called on every write so reads never re-process content.
+     */
+    void render(BlogPost post);
+
+    /**
+     * Re-renders, in batches, every post whose artifacts are missing or were produced by an
+     * older pipeline version. Returns the number of posts updated.
+     */
+    long backfill();
+
+    /**
+     * Rewrites, in batches, posts whose content is still stored as a plain string but is
+     * large enough to be stored compressed. Returns the number of posts updated.
+     */
+    long compressContent();
+}
@@ -0,0 +1,156 @@
+package com.example.chronoblog.service;
+
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Safelist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoExpression;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.util.ContentCompression;
+
+@Service
+public class PostContentServiceImpl implements PostContentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentServiceImpl.class);
+
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int EXCERPT_LENGTH = 280;
+
+    // What the editor produces: formatting, links, lists, tables and images, including inline
+    // data: images, plus class and style on any element. Scripts and event handlers are dropped.
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("span", "figure", "figcaption", "hr", "mark", "s", "del", "ins")
+            .addAttributes(":all", "class", "style")
+            .addAttributes("a", "target", "rel")
+            .addProtocols("img", "src", "data")
+            .preserveRelativeLinks(true);
+
+    // Only lets relative links pass the protocol check; they are kept as written.
+    private static final String BASE_URI = "https://chronoblog.invalid/";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${chronoblog.content.backfill-batch-size:200}")
+    private int backfillBatchSize;
+
+    @Override
+    public void render(BlogPost post) {
+        String html = post.getContent() != null ? post.getContent() : "";
+        String sanitized = Jsoup.clean(html, BASE_URI, SAFELIST);
+        Document document = Jsoup.parseBodyFragment(sanitized);
+
+        String text = document.text().trim();
+        int words = text.isEmpty() ? 0 : text.split("\\s+").length;
+        Element image = document.selectFirst("img[src]");
+
+        post.setContent(sanitized);
+        post.setExcerpt(excerpt(text));
+        post.setWordCount(words);
+        post.setReadingTimeMinutes(words == 0 ? 0 : Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE));
+        post.setCoverImageUrl(image != null ? image.attr("src") : null);
+        post.setRenderVersion(RENDER_VERSION);
+    }
+
+    @Override
+    public long backfill() {
+        long updated = 0;
+        String lastId = null;
+        while (true) {
+            // Walk stale posts in _id order so each batch resumes where the previous one ended.
+            Criteria stale = Criteria.where("renderVersion").ne(RENDER_VERSION);
+            if (lastId != null) {
+                stale = stale.and("_id").gt(lastId);
+            }
+            Query query = Query.query(stale)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(backfillBatchSize);
+            query.fields().include("content");
+            List<BlogPost> batch = mongoTemplate.find(query, BlogPost.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, BlogPost.class);
+            for (BlogPost post : batch) {
+                render(post);
+                ops.updateOne(Query.query(Criteria.where("_id").is(post.getId())), new Update()
+                        .set("content", post.getContent())
+                        .set("excerpt", post.getExcerpt())
+                        .set("wordCount", post.getWordCount())
+                        .set("readingTimeMinutes", post.getReadingTimeMinutes())
+                        .set("coverImageUrl", post.getCoverImageUrl())
+                        .set("renderVersion", post.getRenderVersion()));
+            }
+            updated += ops.execute().getModifiedCount();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (updated > 0) {
+            log.info("Backfilled render artifacts for {} post(s).", updated);
+        }
+        return updated;
+    }
+
+    @Override
+    public long compressContent() {
+        long updated = 0;
+        String lastId = null;
+        while (true) {
+            // Plain-string content at or above the threshold; $and short-circuits, so
+            // $strLenBytes never sees an already compressed binary.
+            Criteria uncompressed = Criteria.expr(MongoExpression.create(
+                    "{ $and: [ { $eq: [ { $type: '$content' }, 'string' ] }, { $gte: [ { $strLenBytes: '$content' }, ?0 ] } ] }",
+                    ContentCompression.THRESHOLD_BYTES));
+            if (lastId != null) {
+                uncompressed = new Criteria().andOperator(Criteria.where("_id").gt(lastId), uncompressed);
+            }
+            Query query = Query.query(uncompressed)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(backfillBatchSize);
+            query.fields().include("content", "revision");
+            List<BlogPost> batch = mongoTemplate.find(query, BlogPost.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            // Setting the same text back lets the content converter store it compressed. The
+            // revision guard skips posts edited since they were read; the edit compressed them.
+            // Posts from before revisions have no revision field, which the guard treats as 0.
+            BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, BlogPost.class);
+            for (BlogPost post : batch) {
+                ops.updateOne(Query.query(new Criteria().andOperator(Criteria.where("_id").is(post.getId()),
+                                PostCriteria.revisionIs(post.getRevision()))),
+                        new Update().set("content", post.getContent()));
+            }
+            updated += ops.execute().getModifiedCount();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (updated > 0) {
+            log.info("Compressed content of {} post(s).", updated);
+        }
+        return updated;
+    }
+
+    private String excerpt(String text) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.chronoblog.service;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+/**
+ * Criteria for conditional post updates. Posts written before a numeric field existed do not
+ * have it; it reads back as 0, so a match on 0 must also accept the missing field.
+ */
+final class PostCriteria {
+
+    private PostCriteria() {
+    }
+
+    static Criteria revisionIs(long revision) {
+        return numberIs("revision", revision);
+    }
+
+    static Criteria numberIs(String field, long value) {
+        return value == 0
+                ? new Criteria().orOperator(Criteria.where(field).is(0L), Criteria.where(field).exists(false))
+                : Criteria.where(field).is(value);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.chronoblog.service;
+
+import java.util.List;
+
+import com.example.chronoblog.dto.PostRevisionResponse;
+import com.example.chronoblog.model.DeltaOp;
+import com.example.chronoblog.model.PostRevision;
+
+public interface PostRevisionService {
+
+    /**
+     * Records that a post's content went from baseContent at baseRevision to content at
+     * revision. Stored as a delta when the history already holds baseRevision, otherwise as
+     * a snapshot that starts a new stretch of history.
+     */
+    void record(String postId, String authorId, long baseRevision, String baseContent, long revision, String content);
+
+    /**
+     * Records an autosave made on top of baseRevision as revision baseRevision + 1. The ops are
+     * stored as they are when the history holds baseRevision; otherwise pass the content at
+     * baseRevision and the result is stored as a snapshot. Returns false if that revision was
+     * already recorded, i.e. another save got there first.
+     */
+    boolean recordDraft(String postId, String authorId, long baseRevision, List<DeltaOp> ops, int contentLength, String baseContent);
+
+    // Revision number and content length of the latest recorded revision, or null if there is none
+    PostRevision findLatest(String postId);
+
+    // Rebuilds the content of a recorded revision from the nearest snapshot and the deltas after it
+    PostRevisionResponse getRevision(String postId, long revision);
+
+    /**
+     * Adds a snapshot to the latest revision of every recently edited post whose deltas since
+     * the last snapshot reached chronoblog.revisions.snapshot-every. Returns the number added.
+     */
+    int compact();
+
+    void deleteByPostId(String postId);
+}
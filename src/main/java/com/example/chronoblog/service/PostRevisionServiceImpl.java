@@ -0,0 +1,191 @@
+package com.example.chronoblog.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.dto.PostRevisionResponse;
+import com.example.chronoblog.exception.ResourceNotFoundException;
+import com.example.chronoblog.model.DeltaOp;
+import com.example.chronoblog.model.PostRevision;
+import com.example.chronoblog.util.TextDelta;
+
+/**
+ * Delta-encoded revision history, written after each successful content change.
+ *
+ * Writes stay small: one indexed lookup of the latest recorded revision and one insert of
+ * the delta. Snapshots are added off the write path by compaction, which bounds how many
+ * deltas a rebuild has to apply. Autosaves are recorded from the client's delta without
+ * reading or rendering the content.
+ */
+@Service
+public class PostRevisionServiceImpl implements PostRevisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostRevisionServiceImpl.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Deltas allowed after a snapshot before compaction adds the next one.
+    @Value("${chronoblog.revisions.snapshot-every:50}")
+    private int snapshotEvery;
+
+    @Value("${chronoblog.revisions.compact-interval-ms:600000}")
+    private long compactIntervalMs;
+
+    // Null until the first run on this node, which looks back one interval rather than over the
+    // whole collection. Posts edited before that catch up with their next edit.
+    private volatile Instant lastCompaction;
+
+    @Override
+    public void record(String postId, String authorId, long baseRevision, String baseContent, long revision, String content) {
+        PostRevision previous = findLatest(postId);
+
+        PostRevision entry = newEntry(postId, authorId, revision, nullToEmpty(content).length());
+        if (previous != null && previous.getRevision() == baseRevision) {
+            entry.setOps(TextDelta.diff(nullToEmpty(baseContent), nullToEmpty(content)));
+        } else {
+            // No history yet, or a change was made without being recorded: start over from here.
+            entry.setSnapshot(nullToEmpty(content));
+            entry.setSnapshotted(true);
+        }
+        try {
+            mongoTemplate.insert(entry);
+        } catch (DuplicateKeyException e) {
+            log.debug("Revision {} of post {} was already recorded.", revision, postId);
+        }
+    }
+
+    @Override
+    public boolean recordDraft(String postId, String authorId, long baseRevision, List<DeltaOp> ops, int contentLength, String baseContent) {
+        PostRevision entry = newEntry(postId, authorId, baseRevision + 1, contentLength);
+        if (baseContent == null) {
+            entry.setOps(ops);
+        } else {
+            entry.setSnapshot(TextDelta.apply(baseContent, ops));
+            entry.setSnapshotted(true);
+        }
+        try {
+            mongoTemplate.insert(entry);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public PostRevision findLatest(String postId) {
+        Query latest = Query.query(Criteria.where("postId").is(postId))
+                .with(Sort.by(Sort.Direction.DESC, "revision"))
+                .limit(1);
+        latest.fields().include("revision", "contentLength");
+        return mongoTemplate.findOne(latest, PostRevision.class);
+    }
+
+    @Override
+    public PostRevisionResponse getRevision(String postId, long revision) {
+        Query snapshotQuery = Query.query(Criteria.where("postId").is(postId)
+                        .and("revision").lte(revision)
+                        .and("snapshotted").is(true))
+                .with(Sort.by(Sort.Direction.DESC, "revision"))
+                .limit(1);
+        PostRevision snapshot = mongoTemplate.findOne(snapshotQuery, PostRevision.class);
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("PostRevision", "revision", revision);
+        }
+        String content = snapshot.getSnapshot();
+        PostRevision last = snapshot;
+        if (snapshot.getRevision() < revision) {
+            Query deltas = Query.query(Criteria.where("postId").is(postId)
+                            .and("revision").gt(snapshot.getRevision()).lte(revision))
+                    .with(Sort.by(Sort.Direction.ASC, "revision"));
+            deltas.fields().include("revision", "ops", "createdAt");
+            for (PostRevision delta : mongoTemplate.find(deltas, PostRevision.class)) {
+                if (delta.getRevision() != last.getRevision() + 1 || delta.getOps() == null) {
+                    break; // A gap; content past it cannot be rebuilt from this snapshot
+                }
+                content = TextDelta.apply(content, delta.getOps());
+                last = delta;
+            }
+        }
+        if (last.getRevision() != revision) {
+            throw new ResourceNotFoundException("PostRevision", "revision", revision);
+        }
+        return new PostRevisionResponse(postId, revision, content, last.getCreatedAt());
+    }
+
+    @Scheduled(fixedDelayString = "${chronoblog.revisions.compact-interval-ms:600000}")
+    public void scheduledCompact() {
+        compact();
+    }
+
+    @Override
+    public synchronized int compact() {
+        Instant startedAt = Instant.now();
+        // A little overlap so revisions committed while the previous run started are not missed.
+        Instant since = lastCompaction != null ? lastCompaction : startedAt.minusMillis(compactIntervalMs);
+        Query recent = Query.query(Criteria.where("createdAt").gte(since.minusSeconds(60)));
+        List<String> postIds = mongoTemplate.findDistinct(recent, "postId", PostRevision.class, String.class);
+
+        int added = 0;
+        for (String postId : postIds) {
+            Query latestQuery = Query.query(Criteria.where("postId").is(postId))
+                    .with(Sort.by(Sort.Direction.DESC, "revision"))
+                    .limit(1);
+            latestQuery.fields().include("revision");
+            PostRevision latest = mongoTemplate.findOne(latestQuery, PostRevision.class);
+            Query snapshotQuery = Query.query(Criteria.where("postId").is(postId).and("snapshotted").is(true))
+                    .with(Sort.by(Sort.Direction.DESC, "revision"))
+                    .limit(1);
+            snapshotQuery.fields().include("revision");
+            PostRevision snapshot = mongoTemplate.findOne(snapshotQuery, PostRevision.class);
+            if (latest == null || snapshot == null || latest.getRevision() - snapshot.getRevision() < snapshotEvery) {
+                continue;
+            }
+            try {
+                String content = getRevision(postId, latest.getRevision()).getContent();
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(latest.getId())),
+                        new Update().set("snapshot", content).set("snapshotted", true), PostRevision.class);
+                added++;
+            } catch (ResourceNotFoundException e) {
+                log.debug("Revision history of post {} has a gap; the next recorded change starts a snapshot.", postId);
+            }
+        }
+        lastCompaction = startedAt;
+        if (added > 0) {
+            log.info("Compacted the revision history of {} post(s).", added);
+        }
+        return added;
+    }
+
+    @Override
+    public void deleteByPostId(String postId) {
+        mongoTemplate.remove(Query.query(Criteria.where("postId").is(postId)), PostRevision.class);
+    }
+
+    private static PostRevision newEntry(String postId, String authorId, long revision, int contentLength) {
+        PostRevision entry = new PostRevision();
+        entry.setPostId(postId);
+        entry.setRevision(revision);
+        entry.setAuthorId(authorId);
+        entry.setContentLength(contentLength);
+        entry.setCreatedAt(Instant.now());
+        return entry;
+    }
+
+    private static String nullToEmpty(String text) {
+        return text != null ? text : "";
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.chronoblog.service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.chronoblog.dto.PostSummary;
+import com.example.chronoblog.exception.ServiceUnavailableException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes summaries of newly published public posts to Server-Sent Events subscribers.
+ *
+ * Publishers only append to each connection's bounded buffer; a small dispatcher pool does
+ * the socket writes, so a slow client never holds up createPost or the scheduler. A client
+ * whose buffer fills up is disconnected and resumes from its Last-Event-ID, which is the
+ * post's (publishAt, id) position and is replayed from Mongo, so resuming works against any
+ * node and across restarts.
+ *
+ * Posts published on this node are pushed immediately. Posts published by other nodes are
+ * picked up by a sweep that runs a single small query per node while anyone is subscribed.
+ */
+@Component
+public class PostStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostStreamService.class);
+
+    static final String POST_EVENT = "post";
+    static final String RESYNC_EVENT = "resync"; // Too much was missed to replay; reload the feed
+
+    private static final int RECENTLY_STREAMED_LIMIT = 1024;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Undelivered events a connection may hold before it is treated as a slow consumer.
+    @Value("${chronoblog.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${chronoblog.stream.max-connections:5000}")
+    private int maxConnections;
+
+    // Clients reconnect with Last-Event-ID when the stream times out.
+    @Value("${chronoblog.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${chronoblog.stream.replay-limit:100}")
+    private int replayLimit;
+
+    @Value("${chronoblog.stream.sweep-lookback-ms:180000}")
+    private long sweepLookbackMs;
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+
+    // Post ids already pushed, so local publishes and sweeps never send a post twice.
+    private final Map<String, Boolean> recentlyStreamed = Collections.synchronizedMap(
+            new LinkedHashMap<String, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > RECENTLY_STREAMED_LIMIT;
+                }
+            });
+
+    private final Counter eventsPublished;
+    private final Counter slowConsumersDropped;
+    private final Counter connectionsOpened;
+
+    public PostStreamService(MeterRegistry meterRegistry,
+                             @Value("${chronoblog.stream.dispatch-threads:4}") int dispatchThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "post-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("chronoblog.stream.connections", connections, Set::size)
+                .description("Open post stream connections on this node")
+                .register(meterRegistry);
+        this.eventsPublished = Counter.builder("chronoblog.stream.events.published").register(meterRegistry);
+        this.slowConsumersDropped = Counter.builder("chronoblog.stream.slow.consumers.dropped").register(meterRegistry);
+        this.connectionsOpened = Counter.builder("chronoblog.stream.connections.opened").register(meterRegistry);
+    }
+
+    private record StreamEvent(String id, String name, Object data) {
+
+        static final StreamEvent HEARTBEAT = new StreamEvent(null, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id != null ? builder.id(id) : builder;
+        }
+    }
+
+    private final class Connection {
+        final SseEmitter emitter;
+        final LinkedBlockingQueue<StreamEvent> buffer = new LinkedBlockingQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Connection(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // Returns false if the buffer is full.
+        synchronized boolean offer(StreamEvent event) {
+            if (buffer.size() >= bufferSize) {
+                return false;
+            }
+            buffer.add(event);
+            return true;
+        }
+
+        // Puts the replayed events ahead of anything published while the replay was being read.
+        synchronized void prepend(List<StreamEvent> replay) {
+            Set<String> replayedIds = new HashSet<>();
+            replay.forEach(event -> replayedIds.add(event.id()));
+            List<StreamEvent> live = new ArrayList<>();
+            buffer.drainTo(live);
+            buffer.addAll(replay);
+            live.stream().filter(event -> event.id() == null || !replayedIds.contains(event.id())).forEach(buffer::add);
+        }
+    }
+
+    /**
+     * Opens a stream. With a Last-Event-ID, posts published after that event are sent first.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (connections.size() >= maxConnections) {
+            throw new ServiceUnavailableException("Too many open post streams; try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(emitter);
+        emitter.onCompletion(() -> connections.remove(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(error -> close(connection));
+
+        // Registered before the replay query so nothing published in between is lost.
+        connections.add(connection);
+        connectionsOpened.increment();
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                connection.prepend(replayAfter(lastEventId));
+            } catch (RuntimeException e) {
+                close(connection);
+                throw e;
+            }
+        }
+        schedule(connection);
+        return emitter;
+    }
+
+    /**
+     * Announces a post to every subscriber if it is public and published and has not been
+     * streamed already. Never blocks on clients.
+     */
+    public void publish(BlogPost post) {
+        if (post.isPrivate() || post.getStatus() != PostStatus.PUBLISHED || post.getPublishAt() == null) {
+            return;
+        }
+        if (recentlyStreamed.putIfAbsent(post.getId(), Boolean.TRUE) != null) {
+            return;
+        }
+        eventsPublished.increment();
+        broadcast(new StreamEvent(cursorOf(post), POST_EVENT, PostSummary.of(post)));
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Scheduled(fixedRateString = "${chronoblog.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle streams and surfaces dead connections as write errors.
+        broadcast(StreamEvent.HEARTBEAT);
+    }
+
+    @Scheduled(fixedDelayString = "${chronoblog.stream.sweep-interval-ms:5000}")
+    public void sweep() {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Query query = Query.query(publicPublished().and("publishAt").gte(now.minusMillis(sweepLookbackMs)).lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "publishAt", "_id"));
+        summaryFields(query);
+        mongoTemplate.find(query, BlogPost.class).forEach(this::publish);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.forEach(connection -> connection.emitter.complete());
+        connections.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private void broadcast(StreamEvent event) {
+        for (Connection connection : connections) {
+            if (connection.offer(event)) {
+                schedule(connection);
+            } else {
+                slowConsumersDropped.increment();
+                log.debug("Dropping slow post stream consumer with {} undelivered event(s).", connection.buffer.size());
+                close(connection);
+            }
+        }
+    }
+
+    private void schedule(Connection connection) {
+        if (!connection.closed && connection.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            StreamEvent event;
+            while (!connection.closed && (event = connection.buffer.poll()) != null) {
+                connection.emitter.send(event.toSse());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            close(connection);
+            return;
+        } finally {
+            connection.draining.set(false);
+        }
+        // An event may have arrived after the last poll but before draining was cleared.
+        if (!connection.buffer.isEmpty()) {
+            schedule(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        connection.closed = true;
+        if (connections.remove(connection)) {
+            connection.emitter.complete();
+        }
+    }
+
+    private List<StreamEvent> replayAfter(String lastEventId) {
+        int separator = lastEventId.indexOf('_');
+        Instant after;
+        try {
+            after = Instant.ofEpochMilli(Long.parseLong(lastEventId.substring(0, separator)));
+        } catch (RuntimeException e) {
+            return List.of(); // Not an id we issued; nothing to resume from
+        }
+        String afterId = lastEventId.substring(separator + 1);
+
+        Query query = Query.query(publicPublished().orOperator(
+                        Criteria.where("publishAt").gt(after),
+                        Criteria.where("publishAt").is(after).and("_id").gt(afterId)))
+                .with(Sort.by(Sort.Direction.ASC, "publishAt", "_id"))
+                .limit(replayLimit + 1);
+        summaryFields(query);
+        List<BlogPost> missed = mongoTemplate.find(query, BlogPost.class);
+        if (missed.size() > replayLimit) {
+            return List.of(new StreamEvent(null, RESYNC_EVENT, "Too many posts were missed; reload the feed."));
+        }
+        List<StreamEvent> replay = new ArrayList<>(missed.size());
+        for (BlogPost post : missed) {
+            replay.add(new StreamEvent(cursorOf(post), POST_EVENT, PostSummary.of(post)));
+        }
+        return replay;
+    }
+
+    private static Criteria publicPublished() {
+        return Criteria.where("status").is(PostStatus.PUBLISHED).and("isPrivate").is(false);
+    }
+
+    private static void summaryFields(Query query) {
+        query.fields().include("title", "excerpt", "author", "coverImageUrl", "readingTimeMinutes",
+                "publishAt", "status", "isPrivate");
+    }
+
+    // Same "millis_postId" shape as the home timeline cursor.
+    private static String cursorOf(BlogPost post) {
+        return post.getPublishAt().toEpochMilli() + "_" + post.getId();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.chronoblog.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.example.chronoblog.dto.TimelinePage;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.TagCount;
+
+public interface TagService {
+
+    /**
+     * Lowercases and trims tags and drops a leading '#'. Throws BadRequestException for tags
+     * that are not letters, digits and dashes, or when there are too many.
+     */
+    Set<String> normalize(Collection<String> tags);
+
+    // The tags a post contributes to the counts: all of them if it is public and published, else none
+    Set<String> countedTags(BlogPost post);
+
+    // Applies the difference between two countedTags results to the tag counts
+    void recordChange(Set<String> before, Set<String> after);
+
+    /**
+     * Runs a post write together with its recordChange in one Mongo transaction, or directly
+     * when transactions are turned off.
+     */
+    <T> T inTransaction(Supplier<T> write);
+
+    // Public published posts with the tag, newest first; pass nextCursor back for the next page
+    TimelinePage getPostsByTag(String tag, String cursor, int size);
+
+    List<TagCount> getTopTags(int limit);
+
+    // Takes the author's posts out of the counts before the posts are deleted
+    void forgetAuthor(String authorId);
+
+    /**
+     * Recomputes every count from the posts, live and archived, and replaces the stored
+     * counts. Returns the number of tags in use.
+     */
+    long rebuildCounts();
+}
@@ -0,0 +1,229 @@
+package com.example.chronoblog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.chronoblog.dto.TimelinePage;
+import com.example.chronoblog.exception.BadRequestException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+import com.example.chronoblog.model.TagCount;
+
+/**
+ * Post tags and their precomputed counts.
+ *
+ * Counts change by $inc of the difference between a post's counted tags before and after a
+ * write, in the same transaction as the write, so a failed write never leaves a count behind.
+ * Writes that cannot share a transaction (bulk imports, the archive mover) are corrected by
+ * the nightly rebuild at the latest.
+ */
+@Service
+public class TagServiceImpl implements TagService {
+
+    private static final Logger log = LoggerFactory.getLogger(TagServiceImpl.class);
+
+    private static final Pattern TAG = Pattern.compile("[a-z0-9]+(-[a-z0-9]+)*");
+    private static final int MAX_TAG_LENGTH = 40;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired(required = false)
+    private MongoTransactionManager transactionManager;
+
+    @Value("${chronoblog.tags.max-per-post:10}")
+    private int maxTagsPerPost;
+
+    @Value("${chronoblog.tags.top-cache-ms:60000}")
+    private long topCacheMs;
+
+    @Value("${chronoblog.tags.top-max:100}")
+    private int topMax;
+
+    private record TopTags(List<TagCount> tags, long loadedAt) {
+    }
+
+    private volatile TopTags topTags;
+
+    @Override
+    public Set<String> normalize(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String raw : tags) {
+            if (raw == null) {
+                continue;
+            }
+            String tag = raw.trim().toLowerCase();
+            if (tag.startsWith("#")) {
+                tag = tag.substring(1);
+            }
+            if (tag.isEmpty()) {
+                continue;
+            }
+            if (tag.length() > MAX_TAG_LENGTH || !TAG.matcher(tag).matches()) {
+                throw new BadRequestException("Invalid tag '" + raw + "': use up to " + MAX_TAG_LENGTH
+                        + " letters, digits and single dashes.");
+            }
+            normalized.add(tag);
+        }
+        if (normalized.size() > maxTagsPerPost) {
+            throw new BadRequestException("A post can have at most " + maxTagsPerPost + " tags.");
+        }
+        return normalized;
+    }
+
+    @Override
+    public Set<String> countedTags(BlogPost post) {
+        if (post == null || post.getTags() == null || post.isPrivate() || post.getStatus() != PostStatus.PUBLISHED) {
+            return Set.of();
+        }
+        return post.getTags();
+    }
+
+    @Override
+    public void recordChange(Set<String> before, Set<String> after) {
+        Map<String, Long> deltas = new HashMap<>();
+        before.stream().filter(tag -> !after.contains(tag)).forEach(tag -> deltas.put(tag, -1L));
+        after.stream().filter(tag -> !before.contains(tag)).forEach(tag -> deltas.put(tag, 1L));
+        apply(deltas);
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> write) {
+        if (transactionManager == null) {
+            return write.get();
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> write.get());
+    }
+
+    @Override
+    public TimelinePage getPostsByTag(String tag, String cursor, int size) {
+        Set<String> normalized = normalize(List.of(tag));
+        if (normalized.isEmpty()) {
+            throw new BadRequestException("A tag is required.");
+        }
+        int pageSize = Math.max(1, Math.min(size, 100));
+        Criteria criteria = Criteria.where("tags").is(normalized.iterator().next())
+                .and("status").is(PostStatus.PUBLISHED)
+                .and("isPrivate").is(false);
+        if (cursor != null && !cursor.isBlank()) {
+            // Same "<publishAt epoch millis>_<postId>" cursor as the home timeline.
+            int separator = cursor.indexOf('_');
+            Instant publishAt;
+            try {
+                publishAt = Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, separator)));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid tag cursor: " + cursor);
+            }
+            String postId = cursor.substring(separator + 1);
+            criteria = criteria.orOperator(Criteria.where("publishAt").lt(publishAt),
+                    Criteria.where("publishAt").is(publishAt).and("_id").lt(postId));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "publishAt", "_id"))
+                .limit(pageSize + 1);
+        List<BlogPost> posts = new ArrayList<>(mongoTemplate.find(query, BlogPost.class));
+        String nextCursor = null;
+        if (posts.size() > pageSize) {
+            posts = posts.subList(0, pageSize);
+            BlogPost last = posts.get(pageSize - 1);
+            nextCursor = last.getPublishAt().toEpochMilli() + "_" + last.getId();
+        }
+        return new TimelinePage(posts, nextCursor);
+    }
+
+    @Override
+    public List<TagCount> getTopTags(int limit) {
+        TopTags cached = topTags;
+        if (cached == null || System.currentTimeMillis() - cached.loadedAt() > topCacheMs) {
+            Query query = Query.query(Criteria.where("count").gt(0))
+                    .with(Sort.by(Sort.Direction.DESC, "count"))
+                    .limit(topMax);
+            cached = new TopTags(List.copyOf(mongoTemplate.find(query, TagCount.class)), System.currentTimeMillis());
+            topTags = cached;
+        }
+        List<TagCount> tags = cached.tags();
+        return tags.subList(0, Math.max(0, Math.min(limit, tags.size())));
+    }
+
+    @Override
+    public void forgetAuthor(String authorId) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (String collection : List.of(mongoTemplate.getCollectionName(BlogPost.class),
+                PostArchiveService.ARCHIVE_COLLECTION)) {
+            countTags(Criteria.where("authorId").is(authorId), collection)
+                    .forEach((tag, count) -> deltas.merge(tag, -count, Long::sum));
+        }
+        apply(deltas);
+    }
+
+    @Scheduled(cron = "${chronoblog.tags.rebuild-cron:0 45 3 * * *}")
+    public void scheduledRebuild() {
+        rebuildCounts();
+    }
+
+    @Override
+    public long rebuildCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (String collection : List.of(mongoTemplate.getCollectionName(BlogPost.class),
+                PostArchiveService.ARCHIVE_COLLECTION)) {
+            countTags(new Criteria(), collection).forEach((tag, count) -> counts.merge(tag, count, Long::sum));
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, TagCount.class);
+        counts.forEach((tag, count) -> ops.upsert(Query.query(Criteria.where("_id").is(tag)), new Update().set("count", count)));
+        ops.updateMulti(Query.query(Criteria.where("_id").nin(counts.keySet())), new Update().set("count", 0L));
+        ops.execute();
+        topTags = null;
+        log.info("Rebuilt tag counts for {} tag(s).", counts.size());
+        return counts.size();
+    }
+
+    // Counts, per tag, the public published posts in a collection that also match criteria.
+    private Map<String, Long> countTags(Criteria criteria, String collection) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().andOperator(criteria, Criteria.where("status").is(PostStatus.PUBLISHED),
+                        Criteria.where("isPrivate").is(false), Criteria.where("tags.0").exists(true))),
+                Aggregation.unwind("tags"),
+                Aggregation.group("tags").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, collection, Document.class).getMappedResults()) {
+            counts.put(row.getString("_id"), ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private void apply(Map<String, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, TagCount.class);
+        deltas.forEach((tag, delta) -> ops.upsert(Query.query(Criteria.where("_id").is(tag)), new Update().inc("count", delta)));
+        ops.execute();
+    }
+}
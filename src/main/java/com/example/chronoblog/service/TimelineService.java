@@ -0,0 +1,20 @@
+package com.example.chronoblog.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.chronoblog.dto.TimelinePage;
+import com.example.chronoblog.model.BlogPost;
+
+public interface TimelineService {
+
+    // Pushes a newly published public post onto the home timeline of each of the author's followers
+    void fanOut(BlogPost post);
+
+    // Adds the followee's recent posts to the follower's timeline after a new follow
+    void backfill(String followerId, String followeeId);
+
+    // Removes the followee's posts from the follower's timeline after an unfollow
+    void removeAuthor(String followerId, String followeeId);
+
+    TimelinePage getHomeTimeline(UserDetails userDetails, String cursor, int size);
+}
@@ -0,0 +1,263 @@
+package com.example.chronoblog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.dto.TimelinePage;
+import com.example.chronoblog.exception.BadRequestException;
+import com.example.chronoblog.exception.ResourceNotFoundException;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.Follow;
+import com.example.chronoblog.model.HomeTimeline;
+import com.example.chronoblog.model.PostStatus;
+import com.example.chronoblog.model.TimelineEntry;
+import com.example.chronoblog.model.User;
+import com.example.chronoblog.repository.BlogPostRepository;
+import com.example.chronoblog.repository.FollowRepository;
+import com.example.chronoblog.repository.UserRepository;
+
+/**
+ * Home timelines are materialized when a post is published: a reference to the post is
+ * pushed onto the timeline of every follower. Authors with more followers than
+ * chronoblog.timeline.fan-out-threshold are skipped at write time; their posts are
+ * queried directly and merged in when a follower reads their timeline.
+ */
+@Service
+public class TimelineServiceImpl implements TimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineServiceImpl.class);
+
+    private static final int FAN_OUT_BATCH_SIZE = 500;
+    private static final int BACKFILL_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private static final Comparator<TimelineEntry> NEWEST_FIRST = Comparator
+            .comparing((TimelineEntry e) -> publishTime(e)).reversed()
+            .thenComparing(TimelineEntry::getPostId, Comparator.reverseOrder());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @Value("${chronoblog.timeline.fan-out-threshold:10000}")
+    private long fanOutThreshold;
+
+    @Value("${chronoblog.timeline.max-length:800}")
+    private int maxLength;
+
+    @Async
+    @Override
+    public void fanOut(BlogPost post) {
+        if (post.isPrivate() || post.getStatus() != PostStatus.PUBLISHED) {
+            return;
+        }
+        User author = userRepository.findById(post.getAuthorId()).orElse(null);
+        if (author == null || isFanOutOnRead(author)) {
+            return;
+        }
+
+        TimelineEntry entry = new TimelineEntry(post.getId(), post.getAuthorId(), post.getPublishAt());
+        Query followers = Query.query(Criteria.where("followeeId").is(author.getId()))
+                .cursorBatchSize(FAN_OUT_BATCH_SIZE);
+        followers.fields().include("followerId");
+
+        long delivered = 0;
+        List<String> batch = new ArrayList<>(FAN_OUT_BATCH_SIZE);
+        try (Stream<Follow> follows = mongoTemplate.stream(followers, Follow.class)) {
+            for (Follow follow : (Iterable<Follow>) follows::iterator) {
+                batch.add(follow.getFollowerId());
+                if (batch.size() == FAN_OUT_BATCH_SIZE) {
+                    delivered += pushEntries(batch, List.of(entry));
+                    batch.clear();
+                }
+            }
+        }
+        delivered += pushEntries(batch, List.of(entry));
+        log.info("Fanned out post {} to {} timeline(s).", post.getId(), delivered);
+    }
+
+    @Override
+    public void backfill(String followerId, String followeeId) {
+        User followee = userRepository.findById(followeeId).orElse(null);
+        if (followee == null || isFanOutOnRead(followee)) {
+            return;
+        }
+        Query recent = Query.query(publicPostsBy(List.of(followeeId)))
+                .with(Sort.by(Sort.Direction.DESC, "publishAt"))
+                .limit(BACKFILL_SIZE);
+        recent.fields().include("authorId", "publishAt");
+        List<TimelineEntry> entries = mongoTemplate.find(recent, BlogPost.class).stream()
+                .map(post -> new TimelineEntry(post.getId(), post.getAuthorId(), post.getPublishAt()))
+                .collect(Collectors.toList());
+        pushEntries(List.of(followerId), entries);
+    }
+
+    @Override
+    public void removeAuthor(String followerId, String followeeId) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(followerId)),
+                new Update().pull("entries", new Document("authorId", followeeId)),
+                HomeTimeline.class);
+    }
+
+    @Override
+    public TimelinePage getHomeTimeline(UserDetails userDetails, String cursor, int size) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", userDetails.getUsername()));
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TimelineEntry after = parseCursor(cursor);
+
+        // Candidates from the materialized timeline...
+        List<TimelineEntry> candidates = new ArrayList<>();
+        HomeTimeline timeline = mongoTemplate.findById(user.getId(), HomeTimeline.class);
+        if (timeline != null) {
+            for (TimelineEntry entry : timeline.getEntries()) {
+                if (after == null || NEWEST_FIRST.compare(entry, after) > 0) {
+                    candidates.add(entry);
+                }
+            }
+        }
+        // ...plus the newest posts of followed authors that are served on read.
+        candidates.addAll(readPopularAuthors(user.getId(), after, pageSize + 1));
+
+        Map<String, TimelineEntry> ordered = new LinkedHashMap<>();
+        candidates.stream().sorted(NEWEST_FIRST).forEach(entry -> ordered.putIfAbsent(entry.getPostId(), entry));
+        List<TimelineEntry> entries = new ArrayList<>(ordered.values());
+
+        // Resolve entries a page at a time, skipping posts since deleted or hidden.
+        List<BlogPost> posts = new ArrayList<>(pageSize);
+        TimelineEntry last = null;
+        for (int from = 0; from < entries.size() && posts.size() < pageSize; from += pageSize) {
+            List<TimelineEntry> chunk = entries.subList(from, Math.min(from + pageSize, entries.size()));
+            Map<String, BlogPost> found = blogPostRepository
+                    .findAllById(chunk.stream().map(TimelineEntry::getPostId).collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+            for (TimelineEntry entry : chunk) {
+                last = entry;
+                BlogPost post = found.get(entry.getPostId());
+                if (post != null && !post.isPrivate() && post.getStatus() == PostStatus.PUBLISHED) {
+                    posts.add(post);
+                    if (posts.size() == pageSize) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean more = last != null && entries.indexOf(last) < entries.size() - 1;
+        return new TimelinePage(posts, more ? formatCursor(last) : null);
+    }
+
+    private List<TimelineEntry> readPopularAuthors(String userId, TimelineEntry after, int limit) {
+        List<String> followeeIds = followRepository.findByFollowerId(userId).stream()
+                .map(Follow::getFolloweeId)
+                .collect(Collectors.toList());
+        if (followeeIds.isEmpty()) {
+            return List.of();
+        }
+
+        Query popular = Query.query(Criteria.where("_id").in(followeeIds).and("followersCount").gte(fanOutThreshold));
+        popular.fields().include("_id");
+        List<String> popularIds = mongoTemplate.find(popular, User.class).stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
+        if (popularIds.isEmpty()) {
+            return List.of();
+        }
+
+        Criteria criteria = publicPostsBy(popularIds);
+        if (after != null) {
+            criteria = new Criteria().andOperator(criteria, new Criteria().orOperator(
+                    Criteria.where("publishAt").lt(after.getPublishAt()),
+                    Criteria.where("publishAt").is(after.getPublishAt()).and("_id").lt(after.getPostId())));
+        }
+        Query posts = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "publishAt", "_id"))
+                .limit(limit);
+        posts.fields().include("authorId", "publishAt");
+        return mongoTemplate.find(posts, BlogPost.class).stream()
+                .map(post -> new TimelineEntry(post.getId(), post.getAuthorId(), post.getPublishAt()))
+                .collect(Collectors.toList());
+    }
+
+    // Upserts each owner's timeline, keeping it sorted newest first and capped at maxLength.
+    private long pushEntries(List<String> ownerIds, List<TimelineEntry> entries) {
+        if (ownerIds.isEmpty() || entries.isEmpty()) {
+            return 0;
+        }
+        Update update = new Update().push("entries")
+                .sort(Sort.by(Sort.Direction.DESC, "publishAt"))
+                .slice(maxLength)
+                .each(entries.toArray());
+        BulkOperations ops = mongoTemplate.bulkOps(BulkMode.UNORDERED, HomeTimeline.class);
+        for (String ownerId : ownerIds) {
+            ops.upsert(Query.query(Criteria.where("_id").is(ownerId)), update);
+        }
+        ops.execute();
+        return ownerIds.size();
+    }
+
+    private boolean isFanOutOnRead(User author) {
+        return author.getFollowersCount() >= fanOutThreshold;
+    }
+
+    private Criteria publicPostsBy(List<String> authorIds) {
+        return Criteria.where("authorId").in(authorIds)
+                .and("status").is(PostStatus.PUBLISHED)
+                .and("isPrivate").is(false);
+    }
+
+    private static Instant publishTime(TimelineEntry entry) {
+        return entry.getPublishAt() != null ? entry.getPublishAt() : Instant.EPOCH;
+    }
+
+    // Cursors are "<publishAt epoch millis>_<postId>" of the last post on the previous page.
+    private String formatCursor(TimelineEntry entry) {
+        return publishTime(entry).toEpochMilli() + "_" + entry.getPostId();
+    }
+
+    private TimelineEntry parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int separator = cursor.indexOf('_');
+        try {
+            Instant publishAt = Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, separator)));
+            return new TimelineEntry(cursor.substring(separator + 1), null, publishAt);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid timeline cursor: " + cursor);
+        }
+    }
+}
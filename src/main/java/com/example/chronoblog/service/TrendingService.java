@@ -0,0 +1,19 @@
+package com.example.chronoblog.service;
+
+import java.util.List;
+
+import com.example.chronoblog.model.BlogPost;
+
+public interface TrendingService {
+
+    // Engagement events, called as they happen; ignored for posts that are not public and published
+    void recordLike(BlogPost post, boolean liked);
+    void recordComment(BlogPost post);
+    void recordView(BlogPost post);
+
+    // Drops the post from the ranking, e.g. when it is deleted or made private
+    void remove(String postId);
+
+    // Highest-scoring public, published posts, best first
+    List<BlogPost> getTrendingPosts(int limit);
+}
@@ -0,0 +1,257 @@
+package com.example.chronoblog.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+import com.example.chronoblog.model.TrendingSnapshot;
+import com.example.chronoblog.repository.BlogPostRepository;
+import com.example.chronoblog.repository.TrendingSnapshotRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps an exponentially time-decayed popularity score per post in memory.
+ *
+ * Rather than decaying every score on a timer, each event adds its weight scaled by
+ * 2^((eventTime - referenceTime) / halfLife). All stored scores are therefore expressed
+ * at the same reference instant and can be compared directly; the real score at any
+ * moment is the stored score times 2^(-(now - referenceTime) / halfLife). The reference
+ * time is moved forward at snapshot time so the stored values never overflow.
+ *
+ * Each node only sees the events it served, so every node snapshots its own scores under
+ * its node id and, at the same time, reads the recent snapshots of the others. Rankings
+ * are taken over the sum of the local scores and those peer scores, which therefore lag
+ * by at most one snapshot interval. Snapshots of nodes that stopped are ignored once they
+ * are older than peer-max-age-ms.
+ */
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+    private static final double LIKE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+    private static final double VIEW_WEIGHT = 0.1;
+
+    // Rebase once stored scores have grown by roughly 2^32.
+    private static final double REBASE_AFTER_HALF_LIVES = 32;
+
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+
+    @Autowired
+    private TrendingSnapshotRepository trendingSnapshotRepository;
+
+    @Value("${chronoblog.trending.half-life-hours:12}")
+    private long halfLifeHours;
+
+    // Upper bound on tracked posts; the lowest scores are evicted beyond this.
+    @Value("${chronoblog.trending.capacity:5000}")
+    private int capacity;
+
+    @Value("${chronoblog.trending.max-results:100}")
+    private int maxResults;
+
+    @Value("${chronoblog.events.node-id:${HOSTNAME:local}}")
+    private String nodeId;
+
+    @Value("${chronoblog.trending.peer-max-age-ms:900000}")
+    private long peerMaxAgeMs;
+
+    private final Map<String, Double> scores = new HashMap<>();
+
+    // Summed scores of the other nodes' latest snapshots, rescaled to referenceTime.
+    private Map<String, Double> peerScores = new HashMap<>();
+    private Instant referenceTime = Instant.now();
+
+    @PostConstruct
+    void restoreSnapshot() {
+        try {
+            trendingSnapshotRepository.findById(snapshotId()).ifPresent(snapshot -> {
+                synchronized (this) {
+                    referenceTime = snapshot.getReferenceTime();
+                    scores.putAll(snapshot.getScores());
+                }
+                log.info("Restored {} trending score(s) from snapshot taken at {}.", snapshot.getScores().size(), snapshot.getTakenAt());
+            });
+            mergePeerSnapshots();
+        } catch (DataAccessException e) {
+            // Not fatal: rankings rebuild from new activity. Also lets CDS training runs start without a database.
+            log.warn("Could not restore trending snapshot; starting with empty rankings.", e);
+        }
+    }
+
+    @Override
+    public void recordLike(BlogPost post, boolean liked) {
+        addScore(post, liked ? LIKE_WEIGHT : -LIKE_WEIGHT);
+    }
+
+    @Override
+    public void recordComment(BlogPost post) {
+        addScore(post, COMMENT_WEIGHT);
+    }
+
+    @Override
+    public void recordView(BlogPost post) {
+        addScore(post, VIEW_WEIGHT);
+    }
+
+    @Override
+    public synchronized void remove(String postId) {
+        scores.remove(postId);
+        peerScores.remove(postId);
+    }
+
+    @Override
+    public List<BlogPost> getTrendingPosts(int limit) {
+        int size = Math.max(1, Math.min(limit, maxResults));
+        // Ask for extra ids so posts that turn out to be hidden can be skipped.
+        List<String> ids = topIds(size * 2);
+        Map<String, BlogPost> posts = blogPostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+
+        List<BlogPost> trending = new ArrayList<>(size);
+        for (String id : ids) {
+            BlogPost post = posts.get(id);
+            if (post == null || !isVisible(post)) {
+                remove(id);
+                continue;
+            }
+            trending.add(post);
+            if (trending.size() == size) {
+                break;
+            }
+        }
+        return trending;
+    }
+
+    /**
+     * Persists this node's scores, rebasing them onto the current time when they have grown
+     * large, and merges in the latest scores of the other nodes. Runs every five minutes by
+     * default.
+     */
+    @Scheduled(fixedRateString = "${chronoblog.trending.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        TrendingSnapshot snapshot = new TrendingSnapshot();
+        snapshot.setId(snapshotId());
+        snapshot.setNodeId(nodeId);
+        synchronized (this) {
+            Instant now = Instant.now();
+            double halfLives = halfLivesBetween(referenceTime, now);
+            if (halfLives > REBASE_AFTER_HALF_LIVES) {
+                double factor = Math.pow(2, -halfLives);
+                scores.replaceAll((id, score) -> score * factor);
+                referenceTime = now;
+            }
+            snapshot.setReferenceTime(referenceTime);
+            snapshot.setScores(new HashMap<>(scores));
+            snapshot.setTakenAt(now);
+        }
+        trendingSnapshotRepository.save(snapshot);
+        mergePeerSnapshots();
+    }
+
+    private void mergePeerSnapshots() {
+        String ownId = snapshotId();
+        List<TrendingSnapshot> peers = trendingSnapshotRepository.findByTakenAtAfter(Instant.now().minusMillis(peerMaxAgeMs));
+        synchronized (this) {
+            Map<String, Double> merged = new HashMap<>();
+            for (TrendingSnapshot peer : peers) {
+                if (ownId.equals(peer.getId()) || peer.getScores() == null) {
+                    continue;
+                }
+                // A score at the peer's reference time, expressed at ours: the same scaling addScore applies.
+                double factor = Math.pow(2, halfLivesBetween(referenceTime, peer.getReferenceTime()));
+                peer.getScores().forEach((postId, score) -> merged.merge(postId, score * factor, Double::sum));
+            }
+            peerScores = merged;
+        }
+    }
+
+    private String snapshotId() {
+        return "trending:" + nodeId;
+    }
+
+    private void addScore(BlogPost post, double weight) {
+        if (!isVisible(post)) {
+            remove(post.getId());
+            return;
+        }
+        synchronized (this) {
+            double scaled = weight * Math.pow(2, halfLivesBetween(referenceTime, Instant.now()));
+            double score = scores.merge(post.getId(), scaled, Double::sum);
+            if (score <= 0) {
+                scores.remove(post.getId());
+            } else if (scores.size() > capacity) {
+                evictLowest();
+            }
+        }
+    }
+
+    // Drops the bottom tenth in one pass so eviction cost is amortised over many inserts.
+    private void evictLowest() {
+        int toEvict = Math.max(1, capacity / 10);
+        // Max-heap holding the lowest scores seen so far.
+        PriorityQueue<Map.Entry<String, Double>> lowest =
+                new PriorityQueue<>(toEvict + 1, Map.Entry.<String, Double>comparingByValue().reversed());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            lowest.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (lowest.size() > toEvict) {
+                lowest.poll();
+            }
+        }
+        for (Map.Entry<String, Double> entry : lowest) {
+            scores.remove(entry.getKey());
+        }
+    }
+
+    private synchronized List<String> topIds(int count) {
+        PriorityQueue<Map.Entry<String, Double>> top =
+                new PriorityQueue<>(count + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            offer(top, count, entry.getKey(), entry.getValue() + peerScores.getOrDefault(entry.getKey(), 0.0));
+        }
+        for (Map.Entry<String, Double> entry : peerScores.entrySet()) {
+            if (!scores.containsKey(entry.getKey())) {
+                offer(top, count, entry.getKey(), entry.getValue());
+            }
+        }
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder()));
+        return ranked.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    }
+
+    // Keeps the count highest scores in a min-heap.
+    private static void offer(PriorityQueue<Map.Entry<String, Double>> top, int count, String postId, double score) {
+        top.offer(Map.entry(postId, score));
+        if (top.size() > count) {
+            top.poll();
+        }
+    }
+
+    private double halfLivesBetween(Instant from, Instant to) {
+        return (double) Duration.between(from, to).toMillis() / Duration.ofHours(halfLifeHours).toMillis();
+    }
+
+    private boolean isVisible(BlogPost post) {
+        return !post.isPrivate() && post.getStatus() == PostStatus.PUBLISHED;
+    }
+}
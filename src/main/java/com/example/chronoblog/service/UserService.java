@@ -3,6 +3,7 @@ package com.example.chronoblog.service;
 import com.example.chronoblog.dto.UpdateProfileRequest;
 import com.example.chronoblog.dto.UpdatePasswordRequest;
 import com.example.chronoblog.dto.UserProfileDto;
+import com.example.chronoblog.model.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public interface UserService {
@@ -11,4 +12,7 @@ public interface UserService {
     UserProfileDto updateCurrentUserProfile(UserDetails currentUser, UpdateProfileRequest updateRequest);
     void updatePassword(UserDetails currentUser, UpdatePasswordRequest updateRequest);
     void deleteAccount(UserDetails currentUser);
+    void follow(UserDetails currentUser, String username);
+    void unfollow(UserDetails currentUser, String username);
+    UserProfileDto toProfileDto(User user, long publishedPostsCount, long timeCapsulesCount);
 }
\ No newline at end of file
@@ -1,20 +1,38 @@
 package com.example.chronoblog.service;
 
+import com.example.chronoblog.cache.ChangeEvent;
+import com.example.chronoblog.cache.ChangeEventBus;
+import com.example.chronoblog.config.MongoOperationProfiles;
+import com.example.chronoblog.config.OperationProfile;
 import com.example.chronoblog.dto.UpdateProfileRequest;
 import com.example.chronoblog.dto.UpdatePasswordRequest;
 import com.example.chronoblog.dto.UserProfileDto;
+import com.example.chronoblog.exception.BadRequestException;
 import com.example.chronoblog.exception.ResourceNotFoundException;
 import com.example.chronoblog.exception.UnauthorizedException;
+import com.example.chronoblog.model.Follow;
+import com.example.chronoblog.model.HomeTimeline;
+import com.example.chronoblog.model.PostRevision;
 import com.example.chronoblog.model.PostStatus;
 import com.example.chronoblog.model.User;
 import com.example.chronoblog.repository.BlogPostRepository;
+import com.example.chronoblog.repository.FollowRepository;
 import com.example.chronoblog.repository.UserRepository;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 public class UserServiceImpl implements UserService {
 
@@ -24,9 +42,30 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private BlogPostRepository blogPostRepository;
 
+    @Autowired
+    private PostArchiveService postArchiveService;
+
+    @Autowired
+    private TagService tagService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoOperationProfiles mongoProfiles;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
     @Override
     public UserProfileDto getUserProfileByUsername(String username) {
         User user = userRepository.findByUsername(username)
@@ -44,11 +83,20 @@ public class UserServiceImpl implements UserService {
     public UserProfileDto updateCurrentUserProfile(UserDetails currentUser, UpdateProfileRequest updateRequest) {
         User user = getUserByEmail(currentUser.getUsername());
 
-        user.setFullName(updateRequest.getFullName());
-        user.setBio(updateRequest.getBio());
-        user.setProfileImageUrl(updateRequest.getProfileImageUrl());
-
-        User updatedUser = userRepository.save(user);
+        // Only the profile fields, so a concurrent change to counters or the password is kept.
+        Update update = new Update()
+                .set("fullName", updateRequest.getFullName())
+                .set("bio", updateRequest.getBio())
+                .set("profileImageUrl", updateRequest.getProfileImageUrl());
+        // The password hash is not needed for the profile, so it is not returned either.
+        Query query = Query.query(Criteria.where("_id").is(user.getId()));
+        query.fields().exclude("password");
+        User updatedUser = mongoProfiles.template(OperationProfile.USERS).findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (updatedUser == null) {
+            throw new ResourceNotFoundException("User", "email", currentUser.getUsername());
+        }
+        publishChange(user.getId());
         return convertToDto(updatedUser);
     }
 
@@ -62,8 +110,9 @@ public class UserServiceImpl implements UserService {
         }
         
         // Update to new password
-        user.setPassword(passwordEncoder.encode(updateRequest.getNewPassword()));
-        userRepository.save(user);
+        mongoProfiles.template(OperationProfile.USERS).updateFirst(Query.query(Criteria.where("_id").is(user.getId())),
+                new Update().set("password", passwordEncoder.encode(updateRequest.getNewPassword())), User.class);
+        publishChange(user.getId());
     }
 
     @Override
@@ -71,10 +120,71 @@ public class UserServiceImpl implements UserService {
         User user = getUserByEmail(currentUser.getUsername());
         
         // Delete all user's blog posts first
+        tagService.forgetAuthor(user.getId());
         blogPostRepository.deleteByAuthorId(user.getId());
+        postArchiveService.deleteByAuthorId(user.getId());
+
+        // Detach the user from the follow graph, keeping the other side's counters accurate
+        List<String> followeeIds = followRepository.findByFollowerId(user.getId()).stream()
+                .map(Follow::getFolloweeId).collect(Collectors.toList());
+        adjustCounter(followeeIds, "followersCount", -1);
+        List<String> followerIds = mongoTemplate.find(
+                Query.query(Criteria.where("followeeId").is(user.getId())), Follow.class).stream()
+                .map(Follow::getFollowerId).collect(Collectors.toList());
+        adjustCounter(followerIds, "followingCount", -1);
+        followRepository.deleteByFollowerId(user.getId());
+        followRepository.deleteByFolloweeId(user.getId());
+        MongoTemplate users = mongoProfiles.template(OperationProfile.USERS);
+        users.remove(Query.query(Criteria.where("_id").is(user.getId())), HomeTimeline.class);
+        users.remove(Query.query(Criteria.where("authorId").is(user.getId())), PostRevision.class);
         
         // Delete the user account
-        userRepository.delete(user);
+        users.remove(user);
+    }
+
+    @Override
+    public void follow(UserDetails currentUser, String username) {
+        User follower = getUserByEmail(currentUser.getUsername());
+        User followee = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+        if (follower.getId().equals(followee.getId())) {
+            throw new BadRequestException("You cannot follow yourself.");
+        }
+
+        try {
+            followRepository.insert(new Follow(follower.getId(), followee.getId()));
+        } catch (DuplicateKeyException e) {
+            return; // Already following; the unique index keeps this idempotent
+        }
+        adjustCounter(List.of(followee.getId()), "followersCount", 1);
+        adjustCounter(List.of(follower.getId()), "followingCount", 1);
+        timelineService.backfill(follower.getId(), followee.getId());
+    }
+
+    @Override
+    public void unfollow(UserDetails currentUser, String username) {
+        User follower = getUserByEmail(currentUser.getUsername());
+        User followee = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        if (followRepository.deleteByFollowerIdAndFolloweeId(follower.getId(), followee.getId()) == 0) {
+            return;
+        }
+        adjustCounter(List.of(followee.getId()), "followersCount", -1);
+        adjustCounter(List.of(follower.getId()), "followingCount", -1);
+        timelineService.removeAuthor(follower.getId(), followee.getId());
+    }
+
+    private void adjustCounter(List<String> userIds, String counter, int delta) {
+        if (!userIds.isEmpty()) {
+            mongoProfiles.template(OperationProfile.USERS)
+                    .updateMulti(Query.query(Criteria.where("_id").in(userIds)), new Update().inc(counter, delta), User.class);
+        }
+    }
+
+    // Field updates bypass the save listeners, so the cached user has to be dropped explicitly.
+    private void publishChange(String userId) {
+        changeEventBus.publish(new ChangeEvent("users", userId, ChangeEvent.Operation.UPSERT, null));
     }
 
     private User getUserByEmail(String email) {
@@ -84,6 +194,15 @@ public class UserServiceImpl implements UserService {
 
     // Updated to populate all new fields
     private UserProfileDto convertToDto(User user) {
+        // Calculate post counts
+        long publishedCount = blogPostRepository.countByAuthorIdAndStatus(user.getId(), PostStatus.PUBLISHED);
+        long scheduledCount = blogPostRepository.countByAuthorIdAndStatus(user.getId(), PostStatus.SCHEDULED);
+
+        return toProfileDto(user, publishedCount, scheduledCount);
+    }
+
+    @Override
+    public UserProfileDto toProfileDto(User user, long publishedPostsCount, long timeCapsulesCount) {
         UserProfileDto userProfileDto = new UserProfileDto();
         BeanUtils.copyProperties(user, userProfileDto);
 
@@ -91,12 +210,8 @@ public class UserServiceImpl implements UserService {
         userProfileDto.setJoinedDate(user.getCreatedAt());
         userProfileDto.setEmail(user.getEmail());
 
-        // Calculate post counts
-        long publishedCount = blogPostRepository.countByAuthorIdAndStatus(user.getId(), PostStatus.PUBLISHED);
-        long scheduledCount = blogPostRepository.countByAuthorIdAndStatus(user.getId(), PostStatus.SCHEDULED);
-
-        userProfileDto.setPublishedPostsCount(publishedCount);
-        userProfileDto.setTimeCapsulesCount(scheduledCount);
+        userProfileDto.setPublishedPostsCount(publishedPostsCount);
+        userProfileDto.setTimeCapsulesCount(timeCapsulesCount);
 
         return userProfileDto;
     }
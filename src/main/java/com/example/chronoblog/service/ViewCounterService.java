@@ -0,0 +1,146 @@
+package com.example.chronoblog.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.chronoblog.cache.ChangeEvent;
+import com.example.chronoblog.cache.ChangeEventBus;
+import com.example.chronoblog.config.MongoOperationProfiles;
+import com.example.chronoblog.config.OperationProfile;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostViewSketch;
+import com.example.chronoblog.repository.PostViewSketchRepository;
+import com.example.chronoblog.util.HyperLogLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counts unique viewers per post without a database write per view.
+ *
+ * Views are offered to a per-post HyperLogLog sketch held in memory. Every minute the sketches
+ * touched since the last flush are merged into the stored sketch for the post (with an optimistic
+ * version check, so concurrent flushes from other nodes are merged rather than overwritten) and
+ * the resulting estimate is copied onto BlogPost.uniqueViewers.
+ */
+@Component
+public class ViewCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ViewCounterService.class);
+
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final int MAX_MERGE_ATTEMPTS = 3;
+
+    @Autowired
+    private PostViewSketchRepository postViewSketchRepository;
+
+    @Autowired
+    private MongoOperationProfiles mongoProfiles;
+
+    @Autowired
+    private ChangeEventBus changeEventBus;
+
+    // Sketches with views not yet flushed; only posts viewed since the last flush are held.
+    private final Map<String, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records a view. The viewer key is hashed immediately and never kept.
+     * Returns true if this probably is the viewer's first view of the post.
+     */
+    public boolean recordView(String postId, String viewerKey) {
+        long hash = HyperLogLog.hash(viewerKey);
+        boolean[] changed = new boolean[1];
+        pending.compute(postId, (id, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog();
+            changed[0] = target.offerHash(hash);
+            return target;
+        });
+        return changed[0];
+    }
+
+    @Scheduled(fixedDelayString = "${chronoblog.views.flush-interval-ms:60000}")
+    public void flush() {
+        List<String> postIds = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < postIds.size(); from += FLUSH_BATCH_SIZE) {
+            flushBatch(postIds.subList(from, Math.min(from + FLUSH_BATCH_SIZE, postIds.size())));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flushBatch(List<String> postIds) {
+        Map<String, HyperLogLog> local = new HashMap<>();
+        for (String postId : postIds) {
+            HyperLogLog sketch = pending.remove(postId);
+            if (sketch != null) {
+                local.put(postId, sketch);
+            }
+        }
+        Map<String, PostViewSketch> stored = postViewSketchRepository.findAllById(local.keySet()).stream()
+                .collect(Collectors.toMap(PostViewSketch::getId, Function.identity()));
+
+        // A lost estimate is replaced by the next flush, so it goes out with the counters' write concern.
+        BulkOperations estimates = mongoProfiles.template(OperationProfile.LIKES).bulkOps(BulkMode.UNORDERED, BlogPost.class);
+        local.forEach((postId, sketch) -> {
+            PostViewSketch merged = mergeAndSave(postId, sketch, stored.get(postId));
+            if (merged != null) {
+                estimates.updateOne(Query.query(Criteria.where("_id").is(postId)),
+                        new Update().set("uniqueViewers", merged.getEstimate()));
+            }
+        });
+        if (!local.isEmpty()) {
+            estimates.execute();
+            local.keySet().forEach(postId ->
+                    changeEventBus.publish(new ChangeEvent("blogPosts", postId, ChangeEvent.Operation.UPSERT, null)));
+        }
+    }
+
+    private PostViewSketch mergeAndSave(String postId, HyperLogLog sketch, PostViewSketch current) {
+        for (int attempt = 1; attempt <= MAX_MERGE_ATTEMPTS; attempt++) {
+            PostViewSketch target = current;
+            if (target == null) {
+                target = new PostViewSketch();
+                target.setId(postId);
+            }
+            HyperLogLog merged = HyperLogLog.fromBytes(target.getRegisters());
+            merged.merge(sketch);
+            target.setRegisters(merged.toBytes());
+            target.setEstimate(merged.estimate());
+            target.setUpdatedAt(Instant.now());
+            try {
+                return postViewSketchRepository.save(target);
+            } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                // Another node flushed this post in between; merge into its version instead.
+                current = postViewSketchRepository.findById(postId).orElse(null);
+            }
+        }
+        // Keep the views for the next flush rather than losing them.
+        pending.merge(postId, sketch, (newer, older) -> {
+            newer.merge(older);
+            return newer;
+        });
+        log.warn("Could not merge view sketch for post {} after {} attempts; will retry.", postId, MAX_MERGE_ATTEMPTS);
+        return null;
+    }
+}
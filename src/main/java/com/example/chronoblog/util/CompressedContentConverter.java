@@ -0,0 +1,21 @@
+package com.example.chronoblog.util;
+
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+/**
+ * Stores a String property through ContentCompression. Applied on entity reads and writes
+ * as well as in Query and Update values, so mongoTemplate updates of the field compress too.
+ */
+public class CompressedContentConverter implements MongoValueConverter<String, Object> {
+
+    @Override
+    public String read(Object value, MongoConversionContext context) {
+        return ContentCompression.decompress(value);
+    }
+
+    @Override
+    public Object write(String value, MongoConversionContext context) {
+        return ContentCompression.compress(value);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.chronoblog.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.bson.BsonBinarySubType;
+import org.bson.types.Binary;
+
+/**
+ * Deflate compression for large HTML bodies stored in Mongo.
+ *
+ * Text of at least THRESHOLD_BYTES (UTF-8) is stored as raw deflate in a user-defined BSON
+ * binary; shorter text, or text that would not shrink, stays a plain string. Reads accept
+ * either form, so compressed and uncompressed documents can live side by side.
+ */
+public final class ContentCompression {
+
+    // Below this, the binary wrapper and the lost readability in the shell outweigh the savings.
+    public static final int THRESHOLD_BYTES = 4096;
+
+    static final byte SUBTYPE = BsonBinarySubType.USER_DEFINED.getValue();
+
+    private ContentCompression() {
+    }
+
+    /**
+     * Returns the value to store: a compressed Binary for long text, otherwise the text itself.
+     */
+    public static Object compress(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < THRESHOLD_BYTES) {
+            return text;
+        }
+        byte[] deflated = deflate(utf8);
+        return deflated.length < utf8.length ? new Binary(SUBTYPE, deflated) : text;
+    }
+
+    /**
+     * Returns the text for a stored value written by compress, or by any earlier version
+     * that stored plain strings.
+     */
+    public static String decompress(Object stored) {
+        if (stored == null || stored instanceof String) {
+            return (String) stored;
+        }
+        if (stored instanceof Binary binary && binary.getType() == SUBTYPE) {
+            return new String(inflate(binary.getData()), StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("Not compressed content: " + stored.getClass().getName());
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 3);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed content");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
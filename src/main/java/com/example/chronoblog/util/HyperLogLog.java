@@ -0,0 +1,182 @@
+package com.example.chronoblog.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog cardinality sketch with 2^11 registers (about 2.3% standard error).
+ *
+ * Small sketches are kept sparse, as a list of (register, rank) pairs, and switch to a dense
+ * register array once that list would outgrow it. Serialized sketches are 1 + 3n bytes while
+ * sparse and 1537 bytes when dense (registers packed into 6 bits each). Only hashes ever enter
+ * a sketch, so the values counted cannot be recovered from it.
+ */
+public class HyperLogLog {
+
+    static final int PRECISION = 11;
+    static final int REGISTERS = 1 << PRECISION;
+
+    private static final int SPARSE_LIMIT = REGISTERS / 8;
+    private static final int DENSE_BYTES = REGISTERS * 6 / 8;
+    private static final byte FORMAT_SPARSE = 0;
+    private static final byte FORMAT_DENSE = 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private int[] sparse = new int[4]; // Entries encoded as (register << 6) | rank
+    private int sparseSize;
+    private byte[] dense;              // One register per byte once converted
+
+    /**
+     * Adds a value to the sketch. Returns true if the sketch changed, which for a
+     * value not seen before is almost always the case while the sketch is small.
+     */
+    public boolean offer(String value) {
+        return offerHash(hash(value));
+    }
+
+    public boolean offerHash(long hash) {
+        int register = (int) (hash >>> (64 - PRECISION));
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        return update(register, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            for (int register = 0; register < REGISTERS; register++) {
+                if (other.dense[register] != 0) {
+                    update(register, other.dense[register]);
+                }
+            }
+        } else {
+            for (int i = 0; i < other.sparseSize; i++) {
+                update(other.sparse[i] >>> 6, other.sparse[i] & 0x3F);
+            }
+        }
+    }
+
+    public long estimate() {
+        if (dense == null) {
+            // At most SPARSE_LIMIT registers are set, well inside linear counting's range.
+            return Math.round(linearCount(REGISTERS - sparseSize));
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : dense) {
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double raw = ALPHA * REGISTERS * REGISTERS / sum;
+        if (raw <= 2.5 * REGISTERS && zeros > 0) {
+            return Math.round(linearCount(zeros));
+        }
+        return Math.round(raw);
+    }
+
+    public byte[] toBytes() {
+        if (dense == null) {
+            byte[] bytes = new byte[1 + 3 * sparseSize];
+            bytes[0] = FORMAT_SPARSE;
+            for (int i = 0; i < sparseSize; i++) {
+                bytes[1 + 3 * i] = (byte) (sparse[i] >>> 16);
+                bytes[2 + 3 * i] = (byte) (sparse[i] >>> 8);
+                bytes[3 + 3 * i] = (byte) sparse[i];
+            }
+            return bytes;
+        }
+        byte[] bytes = new byte[1 + DENSE_BYTES];
+        bytes[0] = FORMAT_DENSE;
+        for (int register = 0; register < REGISTERS; register++) {
+            int bit = register * 6;
+            int packed = (dense[register] & 0x3F) << 10 >>> (bit % 8);
+            bytes[1 + bit / 8] |= (byte) (packed >>> 8);
+            if (bit % 8 > 2) {
+                bytes[2 + bit / 8] |= (byte) packed;
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        if (bytes[0] == FORMAT_SPARSE) {
+            for (int offset = 1; offset + 2 < bytes.length; offset += 3) {
+                int entry = (bytes[offset] & 0xFF) << 16 | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF);
+                sketch.update(entry >>> 6, entry & 0x3F);
+            }
+            return sketch;
+        }
+        sketch.dense = new byte[REGISTERS];
+        for (int register = 0; register < REGISTERS; register++) {
+            int bit = register * 6;
+            int high = bytes[1 + bit / 8] & 0xFF;
+            int low = bit % 8 > 2 ? bytes[2 + bit / 8] & 0xFF : 0;
+            sketch.dense[register] = (byte) ((((high << 8) | low) << (bit % 8) >>> 10) & 0x3F);
+        }
+        sketch.sparse = null;
+        return sketch;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer,
+     * which spreads FNV's weak low-order bits across the whole word.
+     */
+    public static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private boolean update(int register, int rank) {
+        if (dense != null) {
+            if (rank > dense[register]) {
+                dense[register] = (byte) rank;
+                return true;
+            }
+            return false;
+        }
+        for (int i = 0; i < sparseSize; i++) {
+            if (sparse[i] >>> 6 == register) {
+                if (rank > (sparse[i] & 0x3F)) {
+                    sparse[i] = register << 6 | rank;
+                    return true;
+                }
+                return false;
+            }
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            return update(register, rank);
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        sparse[sparseSize++] = register << 6 | rank;
+        return true;
+    }
+
+    private void toDense() {
+        dense = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 6] = (byte) (sparse[i] & 0x3F);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private static double linearCount(int zeros) {
+        return REGISTERS * Math.log((double) REGISTERS / zeros);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.chronoblog.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.chronoblog.model.DeltaOp;
+
+/**
+ * Applies and computes retain/insert/delete deltas over plain strings. Base text left over
+ * after the last operation is kept, so a delta only has to describe the edited region.
+ */
+public final class TextDelta {
+
+    private TextDelta() {
+    }
+
+    /**
+     * Returns base with the operations applied. Throws IllegalArgumentException if an operation
+     * is malformed or reaches past the end of base.
+     */
+    public static String apply(String base, List<DeltaOp> ops) {
+        StringBuilder out = new StringBuilder(base.length() + 64);
+        int position = 0;
+        for (DeltaOp op : ops) {
+            if (op == null || count(op) != 1) {
+                throw new IllegalArgumentException("Each operation needs exactly one of retain, insert or delete");
+            }
+            if (op.getInsert() != null) {
+                out.append(op.getInsert());
+                continue;
+            }
+            int length = op.getRetain() != null ? op.getRetain() : op.getDelete();
+            if (length < 0 || length > base.length() - position) {
+                throw new IllegalArgumentException("Operation at offset " + position + " exceeds the base text length "
+                        + base.length());
+            }
+            if (op.getRetain() != null) {
+                out.append(base, position, position + length);
+            }
+            position += length;
+        }
+        return out.append(base, position, base.length()).toString();
+    }
+
+    /**
+     * Returns the length of a text of baseLength after the operations, checking them as apply
+     * does, so a delta can be validated without the base text itself.
+     */
+    public static int length(int baseLength, List<DeltaOp> ops) {
+        int position = 0;
+        int length = baseLength;
+        for (DeltaOp op : ops) {
+            if (op == null || count(op) != 1) {
+                throw new IllegalArgumentException("Each operation needs exactly one of retain, insert or delete");
+            }
+            if (op.getInsert() != null) {
+                length += op.getInsert().length();
+                continue;
+            }
+            int skipped = op.getRetain() != null ? op.getRetain() : op.getDelete();
+            if (skipped < 0 || skipped > baseLength - position) {
+                throw new IllegalArgumentException("Operation at offset " + position + " exceeds the base text length "
+                        + baseLength);
+            }
+            if (op.getDelete() != null) {
+                length -= skipped;
+            }
+            position += skipped;
+        }
+        return length;
+    }
+
+    /**
+     * Returns a delta turning from into to: the common prefix is retained and the differing
+     * middle replaced. Edits made in an editor between two saves are usually one contiguous
+     * region, for which this is as small as a full diff.
+     */
+    public static List<DeltaOp> diff(String from, String to) {
+        int max = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        // Never split a surrogate pair between the kept and replaced parts.
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(from.charAt(from.length() - suffix))) {
+            suffix--;
+        }
+
+        int deleted = from.length() - prefix - suffix;
+        int inserted = to.length() - prefix - suffix;
+        if (deleted == 0 && inserted == 0) {
+            return List.of();
+        }
+        List<DeltaOp> ops = new ArrayList<>(3);
+        if (prefix > 0) {
+            ops.add(DeltaOp.retain(prefix));
+        }
+        if (deleted > 0) {
+            ops.add(DeltaOp.delete(deleted));
+        }
+        if (inserted > 0) {
+            ops.add(DeltaOp.insert(to.substring(prefix, to.length() - suffix)));
+        }
+        return ops;
+    }
+
+    private static int count(DeltaOp op) {
+        return (op.getRetain() != null ? 1 : 0) + (op.getInsert() != null ? 1 : 0) + (op.getDelete() != null ? 1 : 0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.chronoblog.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.dto.PostSummary;
+import com.example.chronoblog.model.BlogPost;
+import com.example.chronoblog.model.PostStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class JacksonConfigTest {
+
+    // Configured the way Boot configures its ObjectMapper, with and without the feed module
+    private final ObjectMapper beanMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper feedMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .registerModule(new JacksonConfig().feedSerializersModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void writesPostsExactlyAsBeanSerialization() throws Exception {
+        BlogPost full = post("1");
+        full.setArchivedAt(Instant.parse("2026-01-02T03:04:05Z"));
+        BlogPost sparse = new BlogPost();
+        sparse.setId("2");
+
+        for (BlogPost post : List.of(full, post("3"), sparse)) {
+            assertEquals(beanMapper.writeValueAsString(post), feedMapper.writeValueAsString(post));
+        }
+    }
+
+    @Test
+    void writesSummariesAndCommentThreadsExactlyAsBeanSerialization() throws Exception {
+        PostSummary summary = PostSummary.of(post("1"));
+        assertEquals(beanMapper.writeValueAsString(summary), feedMapper.writeValueAsString(summary));
+        assertEquals(beanMapper.writeValueAsString(new PostSummary()), feedMapper.writeValueAsString(new PostSummary()));
+
+        CommentResponse root = comment("c1", 0);
+        CommentResponse reply = comment("c2", 1);
+        reply.setReplies(new ArrayList<>());
+        root.setReplies(List.of(reply, comment("c3", 1)));
+        assertEquals(beanMapper.writeValueAsString(root), feedMapper.writeValueAsString(root));
+    }
+
+    @Test
+    void pagesKeepTheFieldsClientsReadWithoutPageableAndSort() throws Exception {
+        PageImpl<BlogPost> page = new PageImpl<>(List.of(post("1"), post("2")), PageRequest.of(1, 2), 7);
+        JsonNode before = beanMapper.readTree(beanMapper.writeValueAsString(page));
+        JsonNode after = feedMapper.readTree(feedMapper.writeValueAsString(page));
+
+        for (String field : List.of("content", "number", "size", "totalElements", "totalPages",
+                "numberOfElements", "first", "last", "empty")) {
+            assertEquals(before.get(field), after.get(field), field);
+        }
+        assertEquals(9, after.size());
+        assertFalse(after.has("pageable"));
+        assertFalse(after.has("sort"));
+        assertTrue(feedMapper.readTree(feedMapper.writeValueAsString(new PageImpl<>(List.of()))).get("empty").asBoolean());
+    }
+
+    static BlogPost post(String id) {
+        BlogPost post = new BlogPost();
+        post.setId(id);
+        post.setTitle("Post " + id + " with \"quotes\" and ünïcode");
+        post.setContent("<p>Body of post " + id + "</p>");
+        post.setExcerpt("Body of post " + id);
+        post.setWordCount(4);
+        post.setReadingTimeMinutes(1);
+        post.setRenderVersion(3);
+        post.setTags(new LinkedHashSet<>(List.of("java", "mongo")));
+        post.setAuthorId("author-" + id);
+        post.setAuthor("writer" + id);
+        post.setStatus(PostStatus.PUBLISHED);
+        post.setPublishAt(Instant.parse("2025-06-01T12:00:00Z"));
+        post.setLikesCount(5);
+        post.setCommentsCount(2);
+        post.setUniqueViewers(40);
+        post.setLikedBy(Set.of("u1"));
+        post.setRevision(7);
+        post.setCreatedAt(Instant.parse("2025-05-30T08:00:00.123Z"));
+        post.setUpdatedAt(Instant.parse("2025-06-02T09:30:00Z"));
+        return post;
+    }
+
+    private static CommentResponse comment(String id, int depth) {
+        CommentResponse comment = new CommentResponse();
+        comment.setId(id);
+        comment.setPostId("1");
+        comment.setAuthorId("u1");
+        comment.setAuthorUsername("reader");
+        comment.setContent("Nice post");
+        comment.setCreatedAt(Instant.parse("2025-06-03T10:00:00Z"));
+        comment.setParentId(depth > 0 ? "c1" : null);
+        comment.setDepth(depth);
+        comment.setReplyCount(depth == 0 ? 2 : 0);
+        return comment;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.chronoblog.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.chronoblog.cache.EntityCache;
+import com.example.chronoblog.cache.InMemoryChangeEventBus;
+import com.example.chronoblog.config.SecurityConfig;
+import com.example.chronoblog.dto.LoginRequest;
+import com.example.chronoblog.dto.RegisterRequest;
+import com.example.chronoblog.model.User;
+import com.example.chronoblog.repository.InMemoryUserRepository;
+import com.example.chronoblog.security.JwtUtil;
+import com.example.chronoblog.security.UserDetailsServiceImpl;
+import com.example.chronoblog.service.AvailabilityService;
+
+/**
+ * Runs the login and registration endpoints with the production BCrypt settings against an
+ * in-memory user store that counts database calls, and pins their cost model: a login is one
+ * lookup plus one BCrypt verify, a registration one BCrypt hash and one insert.
+ */
+class AuthThroughputBenchmarkTest {
+
+    private static final int ITERATIONS = 20;
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+    private final AtomicInteger bcryptOperations = new AtomicInteger();
+
+    private PasswordEncoder passwordEncoder;
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder bcrypt = new SecurityConfig(null, null).passwordEncoder();
+        passwordEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                bcryptOperations.incrementAndGet();
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                bcryptOperations.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+
+        // Size 0 disables the user cache so every login pays for its lookup.
+        EntityCache uncached = new EntityCache(new InMemoryChangeEventBus(), 0, 0, 0);
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl();
+        inject(userDetailsService, "userRepository", userRepository);
+        inject(userDetailsService, "entityCache", uncached);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        JwtUtil jwtUtil = new JwtUtil();
+        inject(jwtUtil, "secret", Base64.getEncoder().encodeToString(new byte[32]));
+        inject(jwtUtil, "jwtExpirationMs", 3_600_000L);
+
+        authController = new AuthController();
+        inject(authController, "authenticationManager", new ProviderManager(provider));
+        inject(authController, "userRepository", userRepository);
+        inject(authController, "passwordEncoder", passwordEncoder);
+        inject(authController, "jwtUtil", jwtUtil);
+        inject(authController, "availabilityService", Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { AvailabilityService.class }, (proxy, method, args) -> null));
+    }
+
+    @Test
+    void registrationHashesOnceAndNeverReReadsTheUser() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            ResponseEntity<?> response = authController.registerUser(register("writer" + i));
+            assertEquals(200, response.getStatusCode().value());
+        }
+
+        assertEquals(ITERATIONS, bcryptOperations.get());
+        assertEquals(0, userRepository.existenceChecks.get());
+        assertEquals(0, userRepository.lookups.get());
+    }
+
+    @Test
+    void duplicateRegistrationIsRejectedByTheUniqueIndex() {
+        authController.registerUser(register("writer"));
+        ResponseEntity<?> duplicate = authController.registerUser(register("writer"));
+        assertEquals(400, duplicate.getStatusCode().value());
+        assertEquals("Error: Email is already in use!", duplicate.getBody());
+    }
+
+    @Test
+    void loginLooksUpOnceAndVerifiesOnce() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            User user = new User("writer" + i, "writer" + i + "@example.com", passwordEncoder.encode("secret123"));
+            user.setId("id" + i);
+            user.setRoles(Set.of("ROLE_BLOGGER"));
+            userRepository.save(user);
+        }
+        // The provider lazily hashes a dummy password for timing-attack protection on first use.
+        authController.authenticateUser(login(0));
+        bcryptOperations.set(0);
+        userRepository.lookups.set(0);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(200, authController.authenticateUser(login(i)).getStatusCode().value());
+        }
+
+        assertEquals(ITERATIONS, userRepository.lookups.get());
+        assertEquals(ITERATIONS, bcryptOperations.get());
+    }
+
+    private RegisterRequest register(String username) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@example.com");
+        request.setPassword("secret123");
+        return request;
+    }
+
+    private LoginRequest login(int i) {
+        LoginRequest login = new LoginRequest();
+        login.setEmail("writer" + i + "@example.com");
+        login.setPassword("secret123");
+        return login;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.chronoblog.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+import com.example.chronoblog.model.User;
+
+/**
+ * UserRepository over a map, with the unique email and username indexes of the users
+ * collection. Counts lookups and existence checks so tests can pin how often the auth
+ * path reads the store. Examples match on the probe's id, username and email.
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<String, User> usersById = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    public final AtomicInteger lookups = new AtomicInteger();
+    public final AtomicInteger existenceChecks = new AtomicInteger();
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        lookups.incrementAndGet();
+        return find(user -> email.equals(user.getEmail()));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        lookups.incrementAndGet();
+        return find(user -> username.equals(user.getUsername()));
+    }
+
+    @Override
+    public Boolean existsByEmail(String email) {
+        existenceChecks.incrementAndGet();
+        return find(user -> email.equals(user.getEmail())).isPresent();
+    }
+
+    @Override
+    public Boolean existsByUsername(String username) {
+        existenceChecks.incrementAndGet();
+        return find(user -> username.equals(user.getUsername())).isPresent();
+    }
+
+    @Override
+    public synchronized <S extends User> S insert(S user) {
+        if (user.getId() != null && usersById.containsKey(user.getId())) {
+            throw duplicateKey("_id", user.getId());
+        }
+        return save(user);
+    }
+
+    @Override
+    public <S extends User> List<S> insert(Iterable<S> users) {
+        List<S> inserted = new ArrayList<>();
+        users.forEach(user -> inserted.add(insert(user)));
+        return inserted;
+    }
+
+    @Override
+    public synchronized <S extends User> S save(S user) {
+        for (User other : usersById.values()) {
+            if (other.getId().equals(user.getId())) {
+                continue;
+            }
+            if (Objects.equals(other.getEmail(), user.getEmail())) {
+                throw duplicateKey("email", user.getEmail());
+            }
+            if (Objects.equals(other.getUsername(), user.getUsername())) {
+                throw duplicateKey("username", user.getUsername());
+            }
+        }
+        if (user.getId() == null) {
+            user.setId(Long.toHexString(nextId.incrementAndGet()));
+        }
+        usersById.put(user.getId(), user);
+        return user;
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> users) {
+        List<S> saved = new ArrayList<>();
+        users.forEach(user -> saved.add(save(user)));
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        lookups.incrementAndGet();
+        return Optional.ofNullable(usersById.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        existenceChecks.incrementAndGet();
+        return usersById.containsKey(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(usersById.values());
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<User> findAll(Sort sort) {
+        return sorted(findAll(), sort);
+    }
+
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        return page(findAll(), pageable);
+    }
+
+    @Override
+    public long count() {
+        return usersById.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        usersById.remove(id);
+    }
+
+    @Override
+    public void delete(User user) {
+        usersById.remove(user.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(usersById::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends User> users) {
+        users.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        usersById.clear();
+    }
+
+    @Override
+    public <S extends User> Optional<S> findOne(Example<S> example) {
+        return matching(example).stream().findFirst();
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example) {
+        return matching(example);
+    }
+
+    @Override
+    public <S extends User> List<S> findAll(Example<S> example, Sort sort) {
+        return sorted(matching(example), sort);
+    }
+
+    @Override
+    public <S extends User> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(matching(example), pageable);
+    }
+
+    @Override
+    public <S extends User> long count(Example<S> example) {
+        return matching(example).size();
+    }
+
+    @Override
+    public <S extends User> boolean exists(Example<S> example) {
+        return !matching(example).isEmpty();
+    }
+
+    @Override
+    public <S extends User, R> R findBy(Example<S> example, Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Fluent queries are not supported by the in-memory user store.");
+    }
+
+    private Optional<User> find(Predicate<User> predicate) {
+        return usersById.values().stream().filter(predicate).findFirst();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends User> List<S> matching(Example<S> example) {
+        User probe = example.getProbe();
+        return usersById.values().stream()
+                .filter(user -> probe.getId() == null || probe.getId().equals(user.getId()))
+                .filter(user -> probe.getUsername() == null || probe.getUsername().equals(user.getUsername()))
+                .filter(user -> probe.getEmail() == null || probe.getEmail().equals(user.getEmail()))
+                .map(user -> (S) user)
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <S extends User> List<S> sorted(List<S> users, Sort sort) {
+        Comparator<S> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<S> byProperty = Comparator.comparing(
+                    user -> (Comparable) new BeanWrapperImpl(user).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        List<S> result = new ArrayList<>(users);
+        result.sort(comparator);
+        return result;
+    }
+
+    private static <S extends User> Page<S> page(List<S> users, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(users);
+        }
+        List<S> sorted = sorted(users, pageable.getSort());
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    private static DuplicateKeyException duplicateKey(String index, String value) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: chronoblog.users"
+                + " index: " + index + " dup key: { " + index + ": \"" + value + "\" }");
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.chronoblog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.util.ReflectionUtils;
+
+import com.example.chronoblog.dto.CommentRequest;
+import com.example.chronoblog.dto.CommentResponse;
+import com.example.chronoblog.exception.ConflictException;
+import com.example.chronoblog.model.IdempotencyKey;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * Runs the service against an in-memory idempotencyKeys collection with the same _id semantics
+ * as Mongo: an insert of an existing id fails, so exactly one of several concurrent claims wins.
+ */
+class IdempotencyServiceImplTest {
+
+    private final Map<String, IdempotencyKey> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger writes = new AtomicInteger();
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl();
+        inject("mongoTemplate", new InMemoryKeys());
+        inject("objectMapper", new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        inject("ttlHours", 24L);
+        inject("pendingTimeoutMs", 60_000L);
+    }
+
+    @Test
+    void concurrentRetriesWriteOnce() throws Exception {
+        int clients = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CommentResponse>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return addComment("key-1", "Nice post");
+            }));
+        }
+        start.countDown();
+
+        int answered = 0;
+        int inProgress = 0;
+        for (Future<CommentResponse> result : results) {
+            try {
+                assertEquals("c1", result.get().getId());
+                answered++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ConflictException);
+                inProgress++;
+            }
+        }
+        pool.shutdown();
+        assertEquals(1, writes.get());
+        assertEquals(clients, answered + inProgress);
+
+        // Once the first request has finished, every retry gets its response.
+        for (int i = 0; i < 5; i++) {
+            assertEquals("c1", addComment("key-1", "Nice post").getId());
+        }
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void replayReturnsTheOriginalResponse() {
+        CommentResponse first = addComment("key-2", "First!");
+        CommentResponse replay = addComment("key-2", "First!");
+        assertEquals(first, replay);
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void keyCannotBeReusedForADifferentRequest() {
+        addComment("key-3", "One");
+        assertThrows(ConflictException.class, () -> addComment("key-3", "Two"));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void failedRequestReleasesTheKey() {
+        CommentRequest request = request("Retry me");
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("key-4", "reader@example.com",
+                "addComment:p1", request, CommentResponse.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        assertTrue(keys.isEmpty());
+        assertEquals("c1", addComment("key-4", "Retry me").getId());
+    }
+
+    @Test
+    void noKeyRunsEveryTime() {
+        addComment(null, "Hello");
+        addComment(null, "Hello");
+        assertEquals(2, writes.get());
+        assertTrue(keys.isEmpty());
+    }
+
+    private CommentResponse addComment(String key, String content) {
+        return idempotencyService.execute(key, "reader@example.com", "addComment:p1", request(content),
+                CommentResponse.class, () -> {
+                    int n = writes.incrementAndGet();
+                    sleep();
+                    CommentResponse response = new CommentResponse();
+                    response.setId("c" + n);
+                    response.setPostId("p1");
+                    response.setContent(content);
+                    response.setCreatedAt(Instant.parse("2025-06-03T10:00:00Z"));
+                    return response;
+                });
+    }
+
+    private static CommentRequest request(String content) {
+        CommentRequest request = new CommentRequest();
+        request.setContent(content);
+        return request;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void inject(String field, Object value) {
+        Field target = ReflectionUtils.findField(IdempotencyServiceImpl.class, field);
+        ReflectionUtils.makeAccessible(target);
+        ReflectionUtils.setField(target, idempotencyService, value);
+    }
+
+    // Only the calls IdempotencyServiceImpl makes; there is no database behind the factory.
+    private class InMemoryKeys extends MongoTemplate {
+
+        InMemoryKeys() {
+            super((MongoDatabaseFactory) Proxy.newProxyInstance(IdempotencyServiceImplTest.class.getClassLoader(),
+                    new Class<?>[] { MongoDatabaseFactory.class },
+                    (proxy, method, args) -> method.getName().equals("getExceptionTranslator") ? new MongoExceptionTranslator() : null));
+        }
+
+        @Override
+        public <T> T insert(T objectToSave) {
+            IdempotencyKey key = (IdempotencyKey) objectToSave;
+            if (keys.putIfAbsent(key.getId(), copy(key)) != null) {
+                throw new DuplicateKeyException("E11000 duplicate key error collection: idempotencyKeys");
+            }
+            return objectToSave;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T findById(Object id, Class<T> entityClass) {
+            IdempotencyKey key = keys.get(id);
+            return key != null ? (T) copy(key) : null;
+        }
+
+        @Override
+        public UpdateResult updateFirst(Query query, UpdateDefinition update, Class<?> entityClass) {
+            Document set = (Document) update.getUpdateObject().get("$set");
+            boolean[] matched = new boolean[1];
+            keys.computeIfPresent(id(query), (id, key) -> {
+                if (matches(query, key)) {
+                    key.setResponse(set.getString("response"));
+                    matched[0] = true;
+                }
+                return key;
+            });
+            return UpdateResult.acknowledged(matched[0] ? 1 : 0, matched[0] ? 1L : 0L, null);
+        }
+
+        @Override
+        public DeleteResult remove(Query query, Class<?> entityClass) {
+            boolean removed = keys.computeIfPresent(id(query), (id, key) -> matches(query, key) ? null : key) == null;
+            return DeleteResult.acknowledged(removed ? 1 : 0);
+        }
+
+        private String id(Query query) {
+            return (String) query.getQueryObject().get("_id");
+        }
+
+        private boolean matches(Query query, IdempotencyKey key) {
+            Document criteria = query.getQueryObject();
+            return key.getCreatedAt().equals(criteria.get("createdAt"))
+                    && (!criteria.containsKey("response") || key.getResponse() == null);
+        }
+
+        private IdempotencyKey copy(IdempotencyKey key) {
+            IdempotencyKey copy = new IdempotencyKey();
+            copy.setId(key.getId());
+            copy.setRequestHash(key.getRequestHash());
+            copy.setResponse(key.getResponse());
+            copy.setCreatedAt(key.getCreatedAt());
+            copy.setExpiresAt(key.getExpiresAt());
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.chronoblog.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtCapacity() {
+        int n = 100_000;
+        BloomFilter filter = new BloomFilter(n, 0.01);
+        for (int i = 0; i < n; i++) {
+            filter.put("writer" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < n; i++) {
+            if (filter.mightContain("reader" + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / n;
+        assertTrue(observed < 0.015, "observed false-positive rate " + observed);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.015);
+    }
+
+    @Test
+    void estimatedRateGrowsPastCapacity() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 3_000; i++) {
+            filter.put("writer" + i);
+        }
+        assertTrue(filter.expectedFalsePositiveRate() > 0.02);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.chronoblog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+
+class ContentCompressionTest {
+
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    @Test
+    void shortContentStaysPlainText() {
+        String html = "<p>short post</p>";
+        assertEquals(html, ContentCompression.compress(html));
+        assertEquals(html, ContentCompression.decompress(html));
+    }
+
+    @Test
+    void longContentRoundTrips() {
+        String html = samplePost(40, new Random(1)) + " é中😀";
+        Object stored = ContentCompression.compress(html);
+        assertTrue(stored instanceof Binary);
+        assertEquals(html, ContentCompression.decompress(stored));
+    }
+
+    // Compares stored document size and reads the content back out of BSON.
+    @Test
+    void compressedDocumentsAreLessThanHalfTheSize() {
+        Random random = new Random(42);
+        for (int paragraphs : new int[] {10, 40, 160}) {
+            String html = samplePost(paragraphs, random);
+            RawBsonDocument plain = encode(html);
+            RawBsonDocument compressed = encode(ContentCompression.compress(html));
+            int plainBytes = plain.getByteBuffer().remaining();
+            int compressedBytes = compressed.getByteBuffer().remaining();
+            assertTrue(compressedBytes < plainBytes / 2, "compressed " + compressedBytes + " of " + plainBytes);
+            assertEquals(html, ContentCompression.decompress(compressed.decode(CODEC).get("content")));
+        }
+    }
+
+    private static RawBsonDocument encode(Object content) {
+        return new RawBsonDocument(new Document("title", "Benchmark").append("content", content), CODEC);
+    }
+
+    private static String samplePost(int paragraphs, Random random) {
+        String[] words = {"time", "capsule", "letter", "future", "memory", "open", "write", "remember", "year",
+                "friend", "morning", "city", "river", "promise", "photo", "summer", "quiet", "road"};
+        StringBuilder html = new StringBuilder("<h2>A note to the future</h2>");
+        for (int p = 0; p < paragraphs; p++) {
+            html.append("<p>");
+            for (int w = 0; w < 60 + random.nextInt(60); w++) {
+                String word = words[random.nextInt(words.length)];
+                html.append(w % 17 == 5 ? "<strong>" + word + "</strong>" : word).append(' ');
+            }
+            html.append("</p>");
+            if (p % 8 == 3) {
+                html.append("<p><img src=\"https://images.example.com/").append(random.nextInt(100_000)).append(".jpg\"></p>");
+            }
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.chronoblog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Accuracy and footprint checks for the unique-viewer sketch. HyperLogLogBenchmark in the
+ * JMH profile prints the measured error and projected storage.
+ */
+class HyperLogLogTest {
+
+    // Three standard errors for 2^11 registers.
+    private static final double MAX_RELATIVE_ERROR = 3 * 1.04 / Math.sqrt(2048);
+
+    @Test
+    void estimatesAreWithinThreeStandardErrors() {
+        for (int cardinality : new int[] { 10, 100, 1_000, 10_000, 100_000, 1_000_000 }) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.offer("viewer-" + i);
+            }
+            double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(error <= MAX_RELATIVE_ERROR, "error " + error + " at cardinality " + cardinality);
+        }
+    }
+
+    @Test
+    void repeatedViewsDoNotChangeTheEstimate() {
+        HyperLogLog sketch = new HyperLogLog();
+        assertTrue(sketch.offer("viewer"));
+        for (int i = 0; i < 100; i++) {
+            sketch.offer("viewer");
+        }
+        assertEquals(1, sketch.estimate());
+    }
+
+    @Test
+    void mergeMatchesASingleSketchOverTheUnion() {
+        HyperLogLog nodeA = new HyperLogLog();
+        HyperLogLog nodeB = new HyperLogLog();
+        HyperLogLog union = new HyperLogLog();
+        for (int i = 0; i < 50_000; i++) {
+            (i % 3 == 0 ? nodeA : nodeB).offer("viewer-" + i);
+            union.offer("viewer-" + i);
+        }
+        nodeA.merge(HyperLogLog.fromBytes(nodeB.toBytes()));
+        assertEquals(union.estimate(), nodeA.estimate());
+    }
+
+    @Test
+    void serializationRoundTripsSparseAndDenseSketches() {
+        for (int cardinality : new int[] { 0, 5, 200, 5_000 }) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                sketch.offer("viewer-" + i);
+            }
+            HyperLogLog copy = HyperLogLog.fromBytes(sketch.toBytes());
+            assertEquals(sketch.estimate(), copy.estimate());
+            assertTrue(java.util.Arrays.equals(sketch.toBytes(), copy.toBytes()));
+        }
+    }
+
+    @Test
+    void footprintForOneMillionPosts() {
+        // Share of posts and their distinct viewers: most posts have a small audience.
+        int[][] audience = { { 700_000, 10 }, { 200_000, 100 }, { 90_000, 1_000 }, { 10_000, 100_000 } };
+        long totalBytes = 0;
+        for (int[] bucket : audience) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (int i = 0; i < bucket[1]; i++) {
+                sketch.offer("viewer-" + i);
+            }
+            int bytes = sketch.toBytes().length;
+            assertTrue(bytes <= 1537, "sketch larger than the dense encoding");
+            totalBytes += (long) bytes * bucket[0];
+        }
+        // The sparse encoding keeps the long tail small: well under a fifth of an all-dense store.
+        assertTrue(totalBytes < 1_000_000L * 1537 / 5, "projected " + totalBytes + " bytes");
+    }
+}
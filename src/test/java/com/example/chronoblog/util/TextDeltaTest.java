@@ -0,0 +1,79 @@
+package com.example.chronoblog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.chronoblog.model.DeltaOp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TextDeltaTest {
+
+    @Test
+    void appliesRetainInsertDeleteAndKeepsTheRest() {
+        String base = "<p>Hello world</p>";
+        List<DeltaOp> ops = List.of(DeltaOp.retain(9), DeltaOp.delete(5), DeltaOp.insert("there"));
+        assertEquals("<p>Hello there</p>", TextDelta.apply(base, ops));
+    }
+
+    @Test
+    void rejectsOperationsPastTheEnd() {
+        assertThrows(IllegalArgumentException.class, () -> TextDelta.apply("abc", List.of(DeltaOp.retain(2), DeltaOp.delete(2))));
+        assertThrows(IllegalArgumentException.class, () -> TextDelta.apply("abc", List.of(new DeltaOp(1, "x", null))));
+    }
+
+    @Test
+    void diffRoundTrips() {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000; i++) {
+            String from = randomText(random, random.nextInt(40));
+            String to = randomText(random, random.nextInt(40));
+            assertEquals(to, TextDelta.apply(from, TextDelta.diff(from, to)));
+        }
+        assertTrue(TextDelta.diff("same", "same").isEmpty());
+        // The shared high surrogate must not be kept apart from its low half.
+        assertEquals("a😃", TextDelta.apply("a😀", TextDelta.diff("a😀", "a😃")));
+    }
+
+    @Test
+    void lengthMatchesTheAppliedTextAndRejectsWhatApplyRejects() {
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            String from = randomText(random, random.nextInt(40));
+            String to = randomText(random, random.nextInt(40));
+            assertEquals(to.length(), TextDelta.length(from.length(), TextDelta.diff(from, to)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> TextDelta.length(3, List.of(DeltaOp.retain(2), DeltaOp.delete(2))));
+        assertThrows(IllegalArgumentException.class, () -> TextDelta.length(3, List.of(new DeltaOp(1, "x", null))));
+    }
+
+    // An autosave typically carries a few words; compares the request body with a full-content PUT.
+    @Test
+    void deltaPayloadIsSmallComparedToFullContent() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        StringBuilder html = new StringBuilder();
+        for (int p = 0; p < 30; p++) {
+            html.append("<p>Paragraph ").append(p).append(" of a long draft about time capsules and letters.</p>");
+        }
+        String before = html.toString();
+        String after = new StringBuilder(before).insert(before.length() / 2, " and a few new words").toString();
+
+        int deltaBytes = mapper.writeValueAsBytes(TextDelta.diff(before, after)).length;
+        int fullBytes = mapper.writeValueAsBytes(after).length;
+        assertTrue(deltaBytes * 10 < fullBytes);
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "ab<>/p é😀";
+        StringBuilder text = new StringBuilder();
+        while (text.length() < length) {
+            text.appendCodePoint(alphabet.codePointAt(alphabet.offsetByCodePoints(0, random.nextInt(alphabet.codePointCount(0, alphabet.length())))));
+        }
+        return text.toString();
+    }
+}